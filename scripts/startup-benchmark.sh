@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# 기동 시간 벤치마크: JVM 시작 ~ 첫 요청(GET /posts?size=1) 응답까지 걸린 시간(ms)과 그 시점의 RSS(MB)
+#
+# 사용법 (프로젝트 루트에서)
+#   ./mvnw -q package -DskipTests       && scripts/startup-benchmark.sh jar   # 일반 jar (before)
+#   ./mvnw -q -Pcds package -DskipTests && scripts/startup-benchmark.sh cds   # AppCDS 아카이브 + 압축 해제한 jar (after)
+#
+# 환경 변수
+#   RUNS      반복 횟수 (기본 5, 결과는 중앙값도 출력)
+#   PORT      띄울 포트 (기본 9199)
+#   DATA_DIR  게시글 폴더(filedb.base-path) - 기본은 빈 임시 폴더, 게시글이 많으면 인덱스 적재 시간이 더해짐
+#   JAVA_OPTS 추가 JVM 옵션
+set -euo pipefail
+
+MODE="${1:-jar}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-9199}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+NAME="FileDB-0.0.1-SNAPSHOT.jar"
+
+case "$MODE" in
+  jar) CMD=("$JAVA" ${JAVA_OPTS:-} -jar "target/$NAME") ;;
+  cds) CMD=("$JAVA" ${JAVA_OPTS:-} -XX:SharedArchiveFile=target/cds/application.jsa -Xshare:auto -jar "target/cds/$NAME") ;;
+  *) echo "usage: $0 [jar|cds]" >&2; exit 1 ;;
+esac
+
+WORK_DIR="$(mktemp -d)"
+DATA_DIR="${DATA_DIR:-$WORK_DIR/data}"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+times=()
+rss=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${CMD[@]}" --server.port="$PORT" --filedb.base-path="$DATA_DIR" --filedb.upload-path="$WORK_DIR/uploads" \
+      > "$WORK_DIR/app.log" 2>&1 &
+  pid=$!
+
+  until curl -sf -o /dev/null "http://localhost:$PORT/posts?size=1"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "기동 실패 (로그: $WORK_DIR/app.log)" >&2
+      cat "$WORK_DIR/app.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  rss_mb=$(( $(ps -o rss= -p "$pid") / 1024 ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  times+=("$elapsed")
+  rss+=("$rss_mb")
+  echo "run $run: time-to-first-request=${elapsed}ms rss=${rss_mb}MB"
+done
+
+median() { printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+echo "[$MODE] median time-to-first-request=$(median "${times[@]}")ms rss=$(median "${rss[@]}")MB (runs=$RUNS)"
@@ -0,0 +1,61 @@
+package com.example.filedb.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.MethodMetadata;
+
+// 기동 시 꼭 필요하지 않은 라이브러리 빈은 처음 쓸 때 생성 (기동 시간 단축)
+/*
+ * - springdoc(Swagger UI, /v3/api-docs) 빈은 자동 설정이라 @Lazy 를 붙일 수 없으므로 빈 정의를 lazy 로 바꿈
+ *   -> /swagger-ui/index.html 을 처음 열 때 생성
+ * - 라이브러리가 @Lazy(false) 로 직접 지정한 빈(Swagger UI 정적 리소스 등록용 WebMvcConfigurer 등)은 그대로 둠
+ *   -> lazy 로 바꾸면 /swagger-ui/index.html 이 404
+ * - 우리 코드의 관리용 빈(ImageGcService, FlightRecordingService 와 컨트롤러)은 클래스에 @Lazy
+ * - spring.main.lazy-initialization 으로 전체를 lazy 로 하지 않는 이유:
+ *   인덱스 적재(IndexSnapshotService), 파일 감시, write-behind 는 첫 요청 전에 끝나 있어야 함
+ */
+@Configuration
+public class LazyInitConfig {
+
+    private static final String[] LAZY_PACKAGES = { "org.springdoc." };
+
+    // BeanFactoryPostProcessor 는 다른 빈보다 먼저 만들어져야 하므로 static
+    @Bean
+    public static BeanFactoryPostProcessor lazyLibraryBeans() {
+        return beanFactory -> markLazy(beanFactory);
+    }
+
+    private static void markLazy(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (isInLazyPackage(definition) && !hasExplicitLazy(definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    // @Lazy(true/false) 가 이미 지정된 빈
+    private static boolean hasExplicitLazy(BeanDefinition definition) {
+        return definition instanceof AbstractBeanDefinition abstractDefinition
+                && abstractDefinition.getLazyInit() != null;
+    }
+
+    // 빈 클래스 또는 (@Bean 메서드로 등록된 경우) 그 메서드를 선언한 설정 클래스 기준
+    private static boolean isInLazyPackage(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) className = factoryMethod.getDeclaringClassName();
+        }
+        if (className == null) return false;
+        for (String prefix : LAZY_PACKAGES) {
+            if (className.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.filedb.controller;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.FlightRecordingStatus;
+import com.example.filedb.service.FlightRecordingService;
+
+import lombok.RequiredArgsConstructor;
+
+@Lazy // 첫 요청 때 FlightRecordingService 와 함께 생성
+@RestController
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * 녹화 상태 조회 (녹화 중 여부, 마지막 녹화 파일, 느린 작업 로그 횟수)
+     */
+    @GetMapping
+    public FlightRecordingStatus getStatus() {
+        return flightRecordingService.status();
+    }
+
+    /**
+     * JFR 녹화 시작 (JDK 기본 이벤트 + FileDB 저장소 / 이미지 GC 이벤트)
+     */
+    @PostMapping("/start")
+    public FlightRecordingStatus start() {
+        return flightRecordingService.start();
+    }
+
+    /**
+     * 녹화 종료 후 {base-path}/recordings 아래 .jfr 파일로 저장
+     */
+    @PostMapping("/stop")
+    public FlightRecordingStatus stop() {
+        return flightRecordingService.stop();
+    }
+}
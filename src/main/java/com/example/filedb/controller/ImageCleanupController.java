@@ -1,5 +1,6 @@
 package com.example.filedb.controller;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,6 +10,7 @@ import com.example.filedb.service.ImageGcService;
 
 import lombok.RequiredArgsConstructor;
 
+@Lazy // 첫 요청 때 ImageGcService 와 함께 생성
 @RestController
 @RequestMapping("/admin/images")
 @RequiredArgsConstructor
@@ -0,0 +1,38 @@
+package com.example.filedb.controller;
+
+import java.io.IOException;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.IndexStatus;
+import com.example.filedb.service.IndexSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/index")
+@RequiredArgsConstructor
+public class IndexAdminController {
+
+    private final IndexSnapshotService indexSnapshotService;
+
+    /**
+     * 인덱스 적재/체크포인트 상태 조회 (기동 소요 시간 포함)
+     */
+    @GetMapping
+    public IndexStatus getStatus() {
+        return indexSnapshotService.status();
+    }
+
+    /**
+     * 즉시 체크포인트 기록
+     */
+    @PostMapping("/checkpoint")
+    public IndexStatus checkpoint() throws IOException {
+        indexSnapshotService.checkpoint();
+        return indexSnapshotService.status();
+    }
+}
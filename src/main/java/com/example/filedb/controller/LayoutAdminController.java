@@ -0,0 +1,35 @@
+package com.example.filedb.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.LayoutMigrationStatus;
+import com.example.filedb.service.PostLayoutMigrationService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/layout")
+@RequiredArgsConstructor
+public class LayoutAdminController {
+
+    private final PostLayoutMigrationService migrationService;
+
+    /**
+     * 샤드 이전 상태 조회 (예전 위치에 남은 게시글 수 포함)
+     */
+    @GetMapping
+    public LayoutMigrationStatus getStatus() {
+        return migrationService.status();
+    }
+
+    /**
+     * 예전 위치(posts/{id}.json) 게시글을 샤드 위치(posts/ab/cd/{id}.json)로 이전 시작 (백그라운드)
+     */
+    @PostMapping("/migrate")
+    public LayoutMigrationStatus migrate() {
+        return migrationService.start();
+    }
+}
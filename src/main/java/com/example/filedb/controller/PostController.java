@@ -1,27 +1,42 @@
 package com.example.filedb.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.MediaType;
 
+import com.example.filedb.dto.BulkImportResult;
+import com.example.filedb.dto.ChunkedUploadStatus;
 import com.example.filedb.dto.PostDto;
 import com.example.filedb.dto.PostPageResponse;
+import com.example.filedb.dto.PostSuggestResponse;
+import com.example.filedb.service.ChunkedUploadService;
+import com.example.filedb.service.PostBulkService;
+import com.example.filedb.service.PostChangeFeed;
+import com.example.filedb.service.PostDetailCache;
 import com.example.filedb.service.PostService;
+import com.example.filedb.service.PostSuggestIndex;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +46,11 @@ import lombok.RequiredArgsConstructor;
 public class PostController {
 	
 	private final PostService postService;
+	private final PostBulkService postBulkService;
+	private final PostDetailCache postDetailCache;
+	private final PostChangeFeed postChangeFeed;
+	private final ChunkedUploadService chunkedUploadService;
+	private final PostSuggestIndex postSuggestIndex;
 	
 	// 1. 새 게시글 등록
 	// POST /posts
@@ -43,17 +63,82 @@ public class PostController {
 	
 	// 2. 기존 게시글 수정
 	// PUT /posts/{id}
+	// If-Match: "버전" 을 보내면 그 버전일 때만 수정 (다르면 409), 응답 ETag 는 수정 후 버전
 	@PutMapping("/{id}")
-	public PostDto updatePost(@PathVariable Long id, @Valid @RequestBody PostDto request) {
-		return postService.updatePost(id, request);
+	public ResponseEntity<PostDto> updatePost(
+			@PathVariable Long id,
+			@Valid @RequestBody PostDto request,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		PostDto updated = postService.updatePost(id, request, parseIfMatch(ifMatch));
+		return ResponseEntity.ok()
+				.eTag(String.valueOf(updated.getVersion()))
+				.body(updated);
 	}
 	
 	
 	// 3. 단일 게시글 조회
 	// GET /posts/{id}
+	// 클라이언트가 gzip 을 받을 수 있으면 버전별로 미리 압축해 둔 본문을 그대로 전송
+	// (Content-Encoding 이 이미 붙어 있으므로 서버 압축(server.compression)은 다시 하지 않음)
 	@GetMapping("/{id}")
-	public PostDto getPost(@PathVariable Long id) {
-		return postService.getPost(id);
+	public ResponseEntity<?> getPost(
+			@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		if (acceptsGzip(acceptEncoding)) {
+			PostDetailCache.GzippedPost gzipped = postDetailCache.getGzippedPost(id);
+			return ResponseEntity.ok()
+					.contentType(MediaType.APPLICATION_JSON)
+					.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+					.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+					.eTag(String.valueOf(gzipped.version()))
+					.body(gzipped.body());
+		}
+		PostDto post = postService.getPost(id);
+		return ResponseEntity.ok()
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+				.eTag(String.valueOf(post.getVersion() == null ? 0L : post.getVersion()))
+				.body(post);
+	}
+	
+	// Accept-Encoding 헤더에 gzip 이 허용되어 있는지
+	// ("gzip;q=0" 은 거부, gzip 이 없으면 "*" 의 q 값을 따름, q 값이 잘못되면 0 으로 봄)
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) return false;
+		double gzipQ = -1;
+		double anyQ = -1;
+		for (String part : acceptEncoding.split(",")) {
+			String[] params = part.split(";");
+			String coding = params[0].trim().toLowerCase();
+			double q = 1.0;
+			for (int i = 1; i < params.length; i++) {
+				String param = params[i].trim();
+				if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+					try {
+						q = Double.parseDouble(param.substring(2).trim());
+					} catch (NumberFormatException e) {
+						q = 0;
+					}
+				}
+			}
+			if (coding.equals("gzip")) gzipQ = q;
+			else if (coding.equals("*")) anyQ = q;
+		}
+		return gzipQ > 0 || (gzipQ < 0 && anyQ > 0);
+	}
+	
+	// If-Match 헤더 -> 기대 버전 ("3", W/"3", 3 허용 / 없거나 * 이면 null)
+	private static Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+		String value = ifMatch.trim();
+		if (value.startsWith("W/")) value = value.substring(2);
+		if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+			value = value.substring(1, value.length() - 1);
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("If-Match 형식이 올바르지 않습니다: " + ifMatch);
+		}
 	}
 	
 	
@@ -76,21 +161,68 @@ public class PostController {
 	
 	// 6. 전체 목록 페이징 조회
 	// GET /posts?page=0&size=10
+	// 조건: writer=작성자, from/to=2024-01-01 (또는 2024-01-01T10:00:00), sort=latest|updated(최근 수정 순)
+	// snapshot=이전 응답의 snapshot 값 -> 같은 목록 버전 기준으로 다음 페이지 조회
+	// (고정되는 것은 ID 목록뿐: 그 사이 삭제된 글은 빠져서 페이지가 size 보다 짧을 수 있고, 내용은 조회 시점의 최신)
 	@GetMapping
 	public PostPageResponse getPosts(
 			@RequestParam(defaultValue ="0") int page, 
-			@RequestParam(defaultValue="10") int size) {
-		return postService.getPostsPage(page, size);
+			@RequestParam(defaultValue="10") int size,
+			@RequestParam(required = false) String writer,
+			@RequestParam(required = false) String from,
+			@RequestParam(required = false) String to,
+			@RequestParam(defaultValue = "latest") String sort,
+			@RequestParam(required = false) String snapshot) {
+		return postService.getPostsPage(page, size, writer, from, to, sort, snapshot);
 	}
 	
 	// 7. 검색 + 페이징
 	// GET /posts/search?keyword=aaa&page=0&size=10
+	// sort=relevance 면 BM25 관련도 순 (키워드에 "구문", 접두어* 사용 가능), 기본은 최신 글 순
+	// snapshot=이전 응답의 snapshot 값 -> 첫 페이지 때의 매칭 ID 목록 기준 (최신 글 순에서만, 목록 조회와 같은 ID 단위 일관성)
 	@GetMapping("/search")
 	public PostPageResponse searchPosts(
+			@RequestParam String keyword,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue ="10") int size,
+			@RequestParam(defaultValue = "latest") String sort,
+			@RequestParam(required = false) String snapshot) {
+		if ("relevance".equalsIgnoreCase(sort)) {
+			return postService.searchRankedPage(keyword, page, size);
+		}
+		return postService.searchPostsPage(keyword, page, size, snapshot);
+	}
+	
+	// 6-1. 전체 목록 페이징 조회 - 스트리밍 응답
+	// GET /posts?page=0&size=10&stream=true
+	// 응답 JSON 을 메모리에 다 만들지 않고 게시글을 읽는 대로 바로 기록
+	@GetMapping(params = "stream=true")
+	public ResponseEntity<StreamingResponseBody> streamPosts(
+			@RequestParam(defaultValue ="0") int page, 
+			@RequestParam(defaultValue="10") int size,
+			@RequestParam(required = false) String writer,
+			@RequestParam(required = false) String from,
+			@RequestParam(required = false) String to,
+			@RequestParam(defaultValue = "latest") String sort) {
+		// 잘못된 파라미터는 응답을 쓰기 전에 400 으로 처리되도록 먼저 확인
+		postService.validateListParams(from, to, sort);
+		StreamingResponseBody body = out -> postService.streamPostsPage(page, size, writer, from, to, sort, out);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(body);
+	}
+	
+	// 7-1. 검색 + 페이징 - 스트리밍 응답
+	// GET /posts/search?keyword=aaa&page=0&size=10&stream=true
+	@GetMapping(value = "/search", params = "stream=true")
+	public ResponseEntity<StreamingResponseBody> streamSearchPosts(
 			@RequestParam String keyword,
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue ="10") int size) {
-		return postService.searchPostsPage(keyword, page, size);
+		StreamingResponseBody body = out -> postService.streamSearchPage(keyword, page, size, out);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(body);
 	}
 	
 	// 8. 에디터(Toast UI)용 이미지 업로드
@@ -102,5 +234,89 @@ public class PostController {
 	    String url = postService.uploadEditorImage(file); // 저장 후 접근 가능한 URL 반환
 	    return Map.of("url", url);
 	}
+	
+	// 8-1. 에디터 이미지 분할 업로드 시작 (큰 파일 / 끊겨도 이어서 받기)
+	// POST /posts/images/uploads?filename=a.png&size=52428800  -> uploadId, 권장 조각 크기
+	@PostMapping("/images/uploads")
+	@ResponseStatus(HttpStatus.CREATED)
+	public ChunkedUploadStatus initUpload(@RequestParam String filename, @RequestParam long size) {
+		return chunkedUploadService.init(filename, size);
+	}
+	
+	// 8-2. 조각 전송 (본문 = 파일의 offset 위치부터의 바이트, 여러 조각을 동시에 보내도 됨)
+	// PUT /posts/images/uploads/{uploadId}?offset=4194304
+	@PutMapping("/images/uploads/{uploadId}")
+	public ChunkedUploadStatus uploadChunk(
+			@PathVariable String uploadId,
+			@RequestParam long offset,
+			@RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+			InputStream body) {
+		return chunkedUploadService.writeChunk(uploadId, offset, contentLength == null ? 0 : contentLength, body);
+	}
+	
+	// 8-3. 분할 업로드 상태 (받은 구간) -> 연결이 끊긴 뒤 빠진 구간만 다시 보냄
+	// GET /posts/images/uploads/{uploadId}
+	@GetMapping("/images/uploads/{uploadId}")
+	public ChunkedUploadStatus getUploadStatus(@PathVariable String uploadId) {
+		return chunkedUploadService.status(uploadId);
+	}
+	
+	// 8-4. 분할 업로드 완료 -> 에디터 이미지로 저장하고 URL 반환 (8 번과 같은 응답)
+	// POST /posts/images/uploads/{uploadId}/complete
+	@PostMapping("/images/uploads/{uploadId}/complete")
+	public Map<String, String> completeUpload(@PathVariable String uploadId) {
+		return Map.of("url", chunkedUploadService.complete(uploadId));
+	}
+	
+	// 8-5. 분할 업로드 취소 (임시 파일 삭제)
+	// DELETE /posts/images/uploads/{uploadId}
+	@DeleteMapping("/images/uploads/{uploadId}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void abortUpload(@PathVariable String uploadId) {
+		chunkedUploadService.abort(uploadId);
+	}
+	
+	// 9. 게시글 대량 가져오기
+	// POST /posts/bulk  (body: JSON 배열 또는 NDJSON)
+	// 요청 본문을 통째로 읽지 않고 스트림으로 한 건씩 파싱
+	@PostMapping("/bulk")
+	public BulkImportResult importPosts(InputStream body) {
+		return postBulkService.importPosts(body);
+	}
+	
+	// 10. 게시글 전체 내보내기
+	// GET /posts/export  (NDJSON, ID 오름차순)
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportPosts() {
+		StreamingResponseBody body = postBulkService::exportPosts;
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType("application/x-ndjson"))
+				.body(body);
+	}
+	
+	// 11. 게시글 변경 피드 (Server-Sent Events)
+	// GET /posts/stream  (event: ready / post / reset, 재연결 시 Last-Event-ID 이후부터 이어서 받음)
+	// 목록을 주기적으로 다시 조회하지 않고 새 글/수정/삭제를 받아서 반영, reset 을 받으면 목록을 다시 조회
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public void streamChanges(
+			HttpServletRequest request,
+			HttpServletResponse response,
+			@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+		if (!postChangeFeed.subscribe(request, response, lastEventId)) {
+			// 구독자가 가득 참 -> 잠시 후 재연결
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+		}
+	}
+	
+	// 12. 검색어 자동완성 (입력할 때마다 호출)
+	// GET /posts/suggest?q=게시&limit=10  -> 자주 쓰인 용어 + 제목
+	// 한글은 입력 중인 글자(예: "게ㅅ", "한")와 초성(예: "ㄱㅅㅍ")으로도 찾음
+	@GetMapping("/suggest")
+	public PostSuggestResponse suggest(
+			@RequestParam(required = false) String q,
+			@RequestParam(defaultValue = "10") int limit) {
+		return postSuggestIndex.suggest(q, limit);
+	}
 
 }
@@ -0,0 +1,36 @@
+package com.example.filedb.controller;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.SearchCacheStats;
+import com.example.filedb.service.SearchResultCache;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/search-cache")
+@RequiredArgsConstructor
+public class SearchCacheController {
+
+    private final SearchResultCache searchResultCache;
+
+    /**
+     * 검색 결과 캐시 상태 조회 (적중률, 메모리 사용량 등)
+     */
+    @GetMapping
+    public SearchCacheStats getStats() {
+        return searchResultCache.stats();
+    }
+
+    /**
+     * 검색 결과 캐시 전체 비우기
+     */
+    @DeleteMapping
+    public SearchCacheStats clear() {
+        searchResultCache.clear();
+        return searchResultCache.stats();
+    }
+}
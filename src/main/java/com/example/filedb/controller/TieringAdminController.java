@@ -0,0 +1,35 @@
+package com.example.filedb.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.TieringStatus;
+import com.example.filedb.service.PostTieringService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/tiering")
+@RequiredArgsConstructor
+public class TieringAdminController {
+
+    private final PostTieringService tieringService;
+
+    /**
+     * 아카이브 상태 조회 (세그먼트 수, 아카이브된 게시글 수, 마지막 실행 결과)
+     */
+    @GetMapping
+    public TieringStatus getStatus() {
+        return tieringService.status();
+    }
+
+    /**
+     * 오래 수정되지 않은 게시글을 지금 아카이브 (끝날 때까지 기다린 뒤 결과 반환)
+     */
+    @PostMapping("/run")
+    public TieringStatus run() {
+        return tieringService.run();
+    }
+}
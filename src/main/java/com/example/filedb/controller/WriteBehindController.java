@@ -0,0 +1,26 @@
+package com.example.filedb.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.filedb.dto.WriteBehindStats;
+import com.example.filedb.service.PostService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/write-behind")
+@RequiredArgsConstructor
+public class WriteBehindController {
+
+    private final PostService postService;
+
+    /**
+     * write-behind 대기열 상태 조회 (대기열 길이, 거절 수, 배치 반영 시간 등)
+     */
+    @GetMapping
+    public WriteBehindStats getStats() {
+        return postService.getWriteBehindStats();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ArchiveStats {
+
+    // 아카이브 세그먼트 파일 수
+    private final int segments;
+
+    // 아카이브에만 있는 (핫 영역에 파일이 없는) 게시글 수
+    private final long archivedPosts;
+
+    // 세그먼트 파일 크기 합 (bytes)
+    private final long archiveBytes;
+}
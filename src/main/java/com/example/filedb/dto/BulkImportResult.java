@@ -0,0 +1,34 @@
+package com.example.filedb.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkImportResult {
+
+    // 실제로 저장된 게시글 수
+    private final long importedCount;
+
+    // 검증 실패로 건너뛴 게시글 수
+    private final long failedCount;
+
+    // 이번 가져오기에서 발급된 첫 번째 / 마지막 ID (없으면 null)
+    private final Long firstId;
+    private final Long lastId;
+
+    // 실패 사유 (너무 많으면 앞쪽 일부만)
+    private final List<String> errors;
+
+    public static BulkImportResult of(
+            long importedCount,
+            long failedCount,
+            Long firstId,
+            Long lastId,
+            List<String> errors
+    ) {
+        return new BulkImportResult(importedCount, failedCount, firstId, lastId, errors);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.filedb.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ChunkedUploadStatus {
+
+    // 업로드 ID (조각 전송/완료 요청 경로에 사용)
+    private final String uploadId;
+
+    // 원본 파일명 / 전체 크기 (bytes)
+    private final String filename;
+    private final long size;
+
+    // 권장 조각 크기 (bytes) - 이 크기로 나눠 병렬로 보내면 됨
+    private final long chunkSize;
+
+    // 지금까지 받은 바이트 수 / 받은 구간 목록 ([시작, 끝) 쌍, 오름차순)
+    private final long received;
+    private final List<long[]> ranges;
+
+    // 이 시각까지 아무 조각도 오지 않으면 정리됨 (epoch millis)
+    private final long expiresAt;
+}
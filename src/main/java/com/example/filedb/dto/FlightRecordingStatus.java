@@ -0,0 +1,25 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FlightRecordingStatus {
+
+    // 지금 녹화 중인지 / 녹화 시작 시각 (epoch millis, 녹화 중이 아니면 0)
+    private final boolean recording;
+    private final long startedAt;
+
+    // 녹화에 쓰는 JDK 설정 (default / profile) / FileDB 이벤트를 남기는 최소 소요 시간
+    private final String settings;
+    private final long eventThresholdMs;
+
+    // 마지막으로 저장한 녹화 파일 경로 / 크기 (없으면 null / 0)
+    private final String lastFile;
+    private final long lastFileBytes;
+
+    // 느린 작업 로그 기준 (0 이면 꺼짐) / 기동 후 로그를 남긴 횟수
+    private final long slowThresholdMs;
+    private final long slowOperations;
+}
@@ -0,0 +1,29 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class IndexStatus {
+
+    // 기동 시 스냅샷에서 복원했는지 (false 면 전체 스캔으로 구성)
+    private final boolean snapshotLoaded;
+
+    // 기동 시 인덱스 적재에 걸린 시간 (스냅샷 읽기 + 변경분 반영, ms)
+    private final long indexLoadMillis;
+
+    // 기동 시 스냅샷 이후 변경분으로 다시 읽은 게시글 수
+    private final long replayedChanges;
+
+    // JVM 시작 ~ 요청 처리 가능(ApplicationReady)까지 걸린 시간 (ms)
+    private final long timeToReadyMillis;
+
+    // 마지막 체크포인트 시각(epoch millis) / 소요 시간(ms) / 파일 크기(bytes)
+    private final long lastCheckpointAt;
+    private final long lastCheckpointMillis;
+    private final long snapshotBytes;
+
+    // 마지막 체크포인트 이후 게시글 변경 수
+    private final long changesSinceCheckpoint;
+}
@@ -0,0 +1,23 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LayoutMigrationStatus {
+
+    // 이전 작업이 진행 중인지
+    private final boolean running;
+
+    // 이번 이전 작업에서 샤드 위치로 옮긴 수 / 실패한 수
+    private final long migrated;
+    private final long failed;
+
+    // 아직 예전 위치(posts/{id}.json)에 남아 있는 게시글 수
+    private final long remaining;
+
+    // 마지막 이전 작업 시작/종료 시각 (epoch millis, 없으면 0)
+    private final long startedAt;
+    private final long finishedAt;
+}
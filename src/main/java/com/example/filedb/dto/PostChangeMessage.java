@@ -0,0 +1,22 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 변경 피드(GET /posts/stream) 로 보내는 게시글 변경 한 건 (본문은 보내지 않음)
+@Getter
+@AllArgsConstructor
+public class PostChangeMessage {
+
+    // SAVED / DELETED
+    private final String type;
+
+    // 변경된 게시글 ID
+    private final Long postId;
+
+    // 저장된 게시글 요약 (DELETED 면 null)
+    private final String title;
+    private final String writer;
+    private final String updatedAt;
+    private final Long version;
+}
@@ -23,4 +23,8 @@ public class PostDto {
 	// 게시글에 첨부된 이미지 경로
 	// /images/1.jpg
 	private String imagePath;
+	
+	// 게시글 버전 (저장할 때마다 1 씩 증가, 낙관적 동시성 제어 / ETag 용)
+	// 예전 파일처럼 값이 없으면 0 으로 취급
+	private Long version;
 }
@@ -14,4 +14,5 @@ public class PostPageResponse {
 	private long totalElements; // 전체 데이터 수
 	private int totalPages; // 전체 페이지 수 
 	private List<PostDto> content; // 현재 페이지에 포함된 게시글 목록
+	private String snapshot; // 목록 스냅샷 토큰 (다음 페이지 요청에 넘기면 같은 버전의 ID 목록 기준으로 페이징, 지원하지 않는 조회는 null)
 }
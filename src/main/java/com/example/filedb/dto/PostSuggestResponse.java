@@ -0,0 +1,43 @@
+package com.example.filedb.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 자동완성(GET /posts/suggest) 응답
+@Getter
+@AllArgsConstructor
+public class PostSuggestResponse {
+
+    // 입력한 검색어 (그대로)
+    private final String query;
+
+    // 자주 쓰인 용어 (많이 쓰인 순)
+    private final List<Term> terms;
+
+    // 제목 (최신 글 순)
+    private final List<Title> titles;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Term {
+
+        // 용어
+        private final String term;
+
+        // 이 용어가 들어간 제목 수
+        private final long count;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Title {
+
+        // 게시글 ID
+        private final long postId;
+
+        // 게시글 제목
+        private final String title;
+    }
+}
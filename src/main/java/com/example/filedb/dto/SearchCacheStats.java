@@ -0,0 +1,25 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchCacheStats {
+
+    // 현재 캐시된 검색어 수 / 최대 개수
+    private final int entries;
+    private final int maxEntries;
+
+    // 캐시된 ID 목록이 차지하는 대략적인 메모리 (bytes)
+    private final long approxBytes;
+
+    // 캐시 적중 / 미스 횟수와 적중률 (0.0 ~ 1.0)
+    private final long hits;
+    private final long misses;
+    private final double hitRatio;
+
+    // 게시글 변경으로 캐시된 결과를 고친 횟수 / 용량 초과로 밀려난 검색어 수
+    private final long patches;
+    private final long evictions;
+}
@@ -0,0 +1,27 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TieringStatus {
+
+    // 주기 실행이 켜져 있는지 / 지금 실행 중인지
+    private final boolean enabled;
+    private final boolean running;
+
+    // 이 기간(일) 동안 수정되지 않은 글이 아카이브 대상
+    private final long coldAfterDays;
+
+    // 현재 아카이브 상태
+    private final ArchiveStats archive;
+
+    // 마지막 실행에서 아카이브로 옮긴 수 / 핫 파일과 중복되어 아카이브 쪽을 무효 처리한 수
+    private final long lastArchived;
+    private final long lastReconciled;
+
+    // 마지막 실행 시작 시각 (epoch millis, 없으면 0) / 걸린 시간
+    private final long lastRunAt;
+    private final long lastRunMillis;
+}
@@ -0,0 +1,36 @@
+package com.example.filedb.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WriteBehindStats {
+
+    // write-behind 모드 사용 여부 (false 면 나머지 값은 모두 0)
+    private final boolean enabled;
+
+    // 대기열 용량 / 현재 대기열 길이 / 아직 파일에 반영되지 않은 게시글 수
+    private final int capacity;
+    private final int queueDepth;
+    private final int pendingPosts;
+
+    // 대기열에 새로 들어간 수 / 이미 대기 중인 글이라 합쳐진 수 / 대기열이 가득 차서 거절된 수
+    private final long enqueued;
+    private final long coalesced;
+    private final long rejected;
+
+    // 파일 반영 배치 수 / 반영된 게시글 수 / 실패한 배치 수
+    private final long flushedBatches;
+    private final long flushedPosts;
+    private final long failedFlushes;
+
+    // 배치 한 번 반영에 걸린 시간 (ms)
+    private final double lastFlushMillis;
+    private final double avgFlushMillis;
+    private final double maxFlushMillis;
+
+    public static WriteBehindStats disabled() {
+        return new WriteBehindStats(false, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.filedb.event;
+
+import com.example.filedb.dto.PostDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 게시글 변경 이벤트 (저장/삭제)
+/*
+ * FilePostRepository 가 파일에 반영한 직후 발행한다.
+ * API 를 통한 변경뿐 아니라 PostFileWatcher 가 감지한 외부 변경도 같은 이벤트로 들어옴
+ * -> 캐시/인덱스는 이 이벤트만 구독하면 파일과 어긋나지 않음
+ */
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+
+	public enum Type { SAVED, DELETED }
+
+	private final Type type;
+	private final Long postId;
+	private final PostDto post; // SAVED 일 때 저장된 게시글, DELETED 면 null
+
+	public static PostChangedEvent saved(PostDto post) {
+		return new PostChangedEvent(Type.SAVED, post.getId(), post);
+	}
+
+	public static PostChangedEvent deleted(Long postId) {
+		return new PostChangedEvent(Type.DELETED, postId, null);
+	}
+}
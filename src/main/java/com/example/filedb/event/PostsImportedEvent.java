@@ -0,0 +1,21 @@
+package com.example.filedb.event;
+
+import java.util.List;
+
+import com.example.filedb.dto.PostDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 게시글 일괄 저장 이벤트 (대량 가져오기)
+/*
+ * FilePostRepository.saveAll 이 배치 하나를 파일에 반영한 직후 한 번 발행한다.
+ * 게시글마다 PostChangedEvent 를 보내면 구독자마다 한 건씩 처리하느라 가져오기가 느려지므로
+ * 구독자는 배치 단위로 한 번에 반영한다. (모두 새로 발급한 ID 의 새 게시글)
+ */
+@Getter
+@AllArgsConstructor
+public class PostsImportedEvent {
+
+	private final List<PostDto> posts; // 저장된 게시글 (ID 오름차순)
+}
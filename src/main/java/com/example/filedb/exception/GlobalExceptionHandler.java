@@ -49,4 +49,88 @@ public class GlobalExceptionHandler {
         		.errors(fieldErrors)
         		.build();
     }
+	
+	
+	// 3. 잘못된 요청 파라미터 (날짜 형식, 정렬 값, 빈 업로드 파일 등)
+	// 서비스에서 IllegalArgumentException 을 던지면 HTTP 400 상태코드와 INVALID_REQUEST 코드로 응답
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handleIllegalArgument(IllegalArgumentException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.BAD_REQUEST.value())
+				.code("INVALID_REQUEST")
+				.message(e.getMessage())
+				.build();
+	}
+	
+	
+	// 4. write-behind 저장 대기열이 가득 찬 경우 (backpressure)
+	// 클라이언트가 잠시 후 재시도할 수 있도록 HTTP 503 상태코드와 WRITE_QUEUE_FULL 코드로 응답
+	@ExceptionHandler(WriteBackpressureException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ErrorResponse handleWriteBackpressure(WriteBackpressureException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.code("WRITE_QUEUE_FULL")
+				.message(e.getMessage())
+				.build();
+	}
+	
+	
+	// 5. 동시 수정 충돌 (낙관적 동시성 제어)
+	// 요청한 버전(If-Match / version)이 현재 버전과 다르면 HTTP 409 상태코드와 VERSION_CONFLICT 코드로 응답
+	@ExceptionHandler(PostVersionConflictException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ErrorResponse handleVersionConflict(PostVersionConflictException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.CONFLICT.value())
+				.code("VERSION_CONFLICT")
+				.message(e.getMessage())
+				.build();
+	}
+	
+	
+	// 6. 분할 업로드를 찾지 못한 경우 (완료/취소/만료로 정리됨)
+	// HTTP 404 상태코드와 UPLOAD_NOT_FOUND 코드로 응답 -> 클라이언트는 업로드를 처음부터 다시 시작
+	@ExceptionHandler(UploadNotFoundException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public ErrorResponse handleUploadNotFound(UploadNotFoundException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.NOT_FOUND.value())
+				.code("UPLOAD_NOT_FOUND")
+				.message(e.getMessage())
+				.build();
+	}
+	
+	
+	// 7. 분할 업로드 완료 요청 시 빠진 구간이 있는 경우
+	// HTTP 409 상태코드와 UPLOAD_INCOMPLETE 코드로 응답 -> 상태 조회 후 빠진 구간을 다시 보냄
+	@ExceptionHandler(UploadIncompleteException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public ErrorResponse handleUploadIncomplete(UploadIncompleteException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.CONFLICT.value())
+				.code("UPLOAD_INCOMPLETE")
+				.message(e.getMessage())
+				.build();
+	}
+	
+	
+	// 8. 진행 중인 분할 업로드가 너무 많은 경우
+	// HTTP 503 상태코드와 UPLOAD_LIMIT_EXCEEDED 코드로 응답 -> 잠시 후 다시 시작
+	@ExceptionHandler(UploadLimitExceededException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ErrorResponse handleUploadLimitExceeded(UploadLimitExceededException e) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.code("UPLOAD_LIMIT_EXCEEDED")
+				.message(e.getMessage())
+				.build();
+	}
 }
@@ -0,0 +1,17 @@
+package com.example.filedb.exception;
+
+import lombok.Getter;
+
+// 수정 요청의 버전(If-Match / version)이 현재 게시글 버전과 다를 때 발생
+// 그 사이 다른 사용자가 먼저 수정한 경우이므로 최신 글을 다시 읽고 재시도해야 함
+@Getter
+public class PostVersionConflictException extends RuntimeException {
+
+	private final long currentVersion;
+
+	public PostVersionConflictException(Long id, long expectedVersion, long currentVersion) {
+		super("다른 사용자가 먼저 게시글을 수정했습니다. id=" + id
+				+ ", 요청 버전=" + expectedVersion + ", 현재 버전=" + currentVersion);
+		this.currentVersion = currentVersion;
+	}
+}
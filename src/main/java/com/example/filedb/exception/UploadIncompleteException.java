@@ -0,0 +1,8 @@
+package com.example.filedb.exception;
+
+// 분할 업로드 완료 요청 시 아직 받지 못한 구간이 있거나 전송 중인 조각이 있는 경우
+public class UploadIncompleteException extends RuntimeException {
+	public UploadIncompleteException(String message) {
+		super(message);
+	}
+}
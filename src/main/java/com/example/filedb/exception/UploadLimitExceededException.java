@@ -0,0 +1,8 @@
+package com.example.filedb.exception;
+
+// 진행 중인 분할 업로드 수가 최대치라 새 업로드를 시작할 수 없는 경우
+public class UploadLimitExceededException extends RuntimeException {
+	public UploadLimitExceededException() {
+		super("진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+	}
+}
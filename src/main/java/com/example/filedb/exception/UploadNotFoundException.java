@@ -0,0 +1,8 @@
+package com.example.filedb.exception;
+
+// 분할 업로드 ID 가 없거나 (완료/취소/만료되어) 이미 정리된 경우
+public class UploadNotFoundException extends RuntimeException {
+	public UploadNotFoundException(String uploadId) {
+		super("업로드를 찾을 수 없습니다. uploadId=" + uploadId);
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.filedb.exception;
+
+// write-behind 큐가 가득 차서 일정 시간 안에 자리가 나지 않을 때 발생
+public class WriteBackpressureException extends RuntimeException {
+	public WriteBackpressureException() {
+		super("저장 대기열이 가득 찼습니다. 잠시 후 다시 시도해 주세요.");
+	}
+}
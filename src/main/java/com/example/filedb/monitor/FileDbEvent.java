@@ -0,0 +1,55 @@
+package com.example.filedb.monitor;
+
+import java.io.File;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// FileDB 작업 JFR 이벤트 공통 부분 (다룬 파일 수 / 바이트)
+/*
+ * - 시작/종료는 OperationTracer 가 맡음 (begin 후 try/finally 로 end)
+ * - 녹화 중이 아니고 느린 작업 로그도 꺼져 있으면 active=false -> 시간/파일 크기를 재지 않음
+ * - transient 필드는 JFR 에 기록되지 않음
+ */
+@Category("FileDB")
+@StackTrace(false)
+public abstract class FileDbEvent extends Event {
+
+    @Label("Files")
+    int files;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    // 녹화 또는 느린 작업 로그 대상인지, 시작 시각 (System.nanoTime)
+    transient boolean active;
+    transient long startNanos;
+
+    public boolean isActive() {
+        return active;
+    }
+
+    // 파일 한 개 (크기를 아는 경우)
+    public void addFile(long size) {
+        files++;
+        bytes += size;
+    }
+
+    // 파일 한 개 (크기는 기록할 때만 조회)
+    public void addFile(File file) {
+        if (!active) return;
+        addFile(file.length());
+    }
+
+    public void addFiles(int count, long size) {
+        files += count;
+        bytes += size;
+    }
+
+    // 느린 작업 로그 한 줄 (작업 이름과 주요 값)
+    abstract String describe();
+}
@@ -0,0 +1,31 @@
+package com.example.filedb.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// ImageGcService 단계 하나 (collect: 게시글 content 파싱, list: 이미지 목록, delete: 고아 이미지 삭제)
+@Name("filedb.ImageGc")
+@Label("FileDB Image GC")
+@Description("고아 이미지 정리 단계 (파일 수, 바이트, 삭제 실패 수)")
+@Category("FileDB")
+@StackTrace(false)
+public class ImageGcEvent extends FileDbEvent {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Failed")
+    int failed;
+
+    public void addFailed() {
+        failed++;
+    }
+
+    @Override
+    String describe() {
+        return "image-gc " + phase + " files=" + files + " bytes=" + bytes + " failed=" + failed;
+    }
+}
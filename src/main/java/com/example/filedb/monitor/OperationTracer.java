@@ -0,0 +1,74 @@
+package com.example.filedb.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// 저장소 / 이미지 GC 작업 계측 (JFR 이벤트 + 느린 작업 로그)
+/*
+ * 사용법
+ *   RepositoryOperationEvent trace = tracer.repository("save", id);
+ *   try { ... trace.addFile(file); ... } finally { tracer.end(trace); }
+ *
+ * - JFR 녹화(FlightRecordingService, -XX:StartFlightRecording)가 이 이벤트를 켜 두었으면 이벤트로 기록
+ * - filedb.trace.slow-threshold-ms 보다 오래 걸린 작업은 System.err 로 한 줄 남김 (0 이면 끔)
+ * - 둘 다 꺼져 있으면 시각/파일 크기를 재지 않음 -> 이벤트 객체 생성 + 필드 몇 개 쓰기뿐
+ */
+@Component
+public class OperationTracer {
+
+    // 이 시간 이상 걸린 작업은 로그 (0 이면 끔)
+    @Value("${filedb.trace.slow-threshold-ms:0}")
+    private long slowThresholdMs;
+
+    private final AtomicLong slowOperations = new AtomicLong();
+
+
+    public RepositoryOperationEvent repository(String operation, long postId) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.operation = operation;
+        event.postId = postId;
+        start(event);
+        return event;
+    }
+
+    public RepositoryOperationEvent repository(String operation) {
+        return repository(operation, 0L);
+    }
+
+    public ImageGcEvent imageGc(String phase) {
+        ImageGcEvent event = new ImageGcEvent();
+        event.phase = phase;
+        start(event);
+        return event;
+    }
+
+    private void start(FileDbEvent event) {
+        event.active = slowThresholdMs > 0 || event.isEnabled();
+        if (!event.active) return;
+        event.startNanos = System.nanoTime();
+        event.begin();
+    }
+
+    // 작업 종료 (느리면 로그, 녹화 중이면 기록)
+    public void end(FileDbEvent event) {
+        if (!event.active) return;
+        long elapsedMs = (System.nanoTime() - event.startNanos) / 1_000_000;
+        if (slowThresholdMs > 0 && elapsedMs >= slowThresholdMs) {
+            slowOperations.incrementAndGet();
+            System.err.println("[SlowOperation] " + event.describe() + " took=" + elapsedMs + "ms"
+                    + " thread=" + Thread.currentThread().getName());
+        }
+        event.commit();
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    // 기동 후 느린 작업 로그를 남긴 횟수
+    public long getSlowOperations() {
+        return slowOperations.get();
+    }
+}
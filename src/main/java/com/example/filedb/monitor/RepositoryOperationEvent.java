@@ -0,0 +1,49 @@
+package com.example.filedb.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// FilePostRepository 작업 하나 (저장/조회/삭제/목록/재스캔/아카이브 ...)
+/*
+ * - 목록 조회는 list(디렉토리 훑기)와 read-all(JSON 파싱)이 따로 남으므로 어느 쪽이 느린지 구분됨
+ * - lockWait : 게시글 락(줄무늬 락) / 시퀀스 락을 기다린 시간 (여러 번 잡으면 합)
+ */
+@Name("filedb.RepositoryOperation")
+@Label("FileDB Repository Operation")
+@Description("FilePostRepository 파일 작업 (파일 수, 바이트, 락 대기 시간)")
+@Category("FileDB")
+@StackTrace(false)
+public class RepositoryOperationEvent extends FileDbEvent {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Post Id")
+    long postId;
+
+    @Label("Lock Wait")
+    @Timespan
+    long lockWait;
+
+    transient long lockRequestedAt;
+
+    // synchronized 진입 직전 / 직후에 호출
+    public void beforeLock() {
+        if (active) lockRequestedAt = System.nanoTime();
+    }
+
+    public void afterLock() {
+        if (active) lockWait += System.nanoTime() - lockRequestedAt;
+    }
+
+    @Override
+    String describe() {
+        return operation + (postId > 0 ? " postId=" + postId : "")
+                + " files=" + files + " bytes=" + bytes
+                + " lockWait=" + (lockWait / 1_000_000) + "ms";
+    }
+}
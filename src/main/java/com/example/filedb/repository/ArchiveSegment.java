@@ -0,0 +1,279 @@
+package com.example.filedb.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 콜드 게시글 아카이브 세그먼트 (읽기 전용 파일 하나)
+/*
+ * [헤더]   int MAGIC, int FORMAT_VERSION
+ * [블록]   게시글 JSON 원본을 ID 순으로 이어 붙여 BLOCK_SIZE 안팎으로 자른 뒤 deflate 압축한 블록들
+ * [인덱스] int 개수, (id, 블록 위치, 블록 압축 길이, 블록 안 위치, 길이)... (ID 오름차순)
+ * [푸터]   long 인덱스 위치, int MAGIC
+ * - 작은 JSON 을 하나씩 압축하면 압축률이 낮으므로 여러 게시글을 한 블록으로 묶어 압축
+ * - 게시글 하나를 읽을 때는 해당 블록 하나만 읽어서 풂 (마지막으로 푼 블록은 재사용)
+ */
+final class ArchiveSegment {
+
+	private static final int MAGIC = 0x46445341; // "FDSA"
+	private static final int FORMAT_VERSION = 1;
+	private static final int BLOCK_SIZE = 64 * 1024;
+
+	private final int number;
+	private final Path path;
+	private final long stamp; // 세그먼트 파일 mtime (인덱스 스탬프로 사용)
+
+	// 인덱스 (ID 오름차순)
+	private final long[] ids;
+	private final long[] blockOffsets;
+	private final int[] blockLengths;
+	private final int[] offsets;
+	private final int[] lengths;
+
+	// 삭제/승격되어 더 이상 유효하지 않은 항목 (인덱스 위치 기준)
+	private final BitSet dead;
+
+	// 마지막으로 푼 블록 (연속된 ID 를 읽을 때 다시 풀지 않음)
+	private volatile DecodedBlock lastBlock;
+
+	private record DecodedBlock(long offset, byte[] bytes) {}
+
+	// 세그먼트에 넣을 게시글 한 건
+	record Entry(long id, byte[] json) {}
+
+	private ArchiveSegment(int number, Path path, long stamp, long[] ids, long[] blockOffsets,
+			int[] blockLengths, int[] offsets, int[] lengths) {
+		this.number = number;
+		this.path = path;
+		this.stamp = stamp;
+		this.ids = ids;
+		this.blockOffsets = blockOffsets;
+		this.blockLengths = blockLengths;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.dead = new BitSet(ids.length);
+	}
+
+	int number() {
+		return number;
+	}
+
+	Path path() {
+		return path;
+	}
+
+	long stamp() {
+		return stamp;
+	}
+
+	int size() {
+		return ids.length;
+	}
+
+	long fileSize() {
+		try {
+			return Files.size(path);
+		} catch (IOException e) {
+			return 0L;
+		}
+	}
+
+	// 인덱스 위치 (없으면 음수)
+	int positionOf(long id) {
+		return Arrays.binarySearch(ids, id);
+	}
+
+	long idAt(int pos) {
+		return ids[pos];
+	}
+
+	int lengthAt(int pos) {
+		return lengths[pos];
+	}
+
+	synchronized boolean isDead(int pos) {
+		return dead.get(pos);
+	}
+
+	synchronized void markDead(int pos) {
+		dead.set(pos);
+	}
+
+	synchronized int liveCount() {
+		return ids.length - dead.cardinality();
+	}
+
+	// 게시글 JSON 원본 읽기
+	byte[] read(int pos) throws IOException {
+		long blockOffset = blockOffsets[pos];
+		DecodedBlock block = lastBlock;
+		if (block == null || block.offset() != blockOffset) {
+			block = new DecodedBlock(blockOffset, readBlock(blockOffset, blockLengths[pos]));
+			lastBlock = block;
+		}
+		return Arrays.copyOfRange(block.bytes(), offsets[pos], offsets[pos] + lengths[pos]);
+	}
+
+	private byte[] readBlock(long offset, int compressedLength) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(compressedLength);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, offset + buffer.position()) < 0) {
+					throw new IOException("세그먼트 블록이 잘렸습니다: " + path);
+				}
+			}
+		}
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(buffer.array());
+			ByteArrayOutputStream out = new ByteArrayOutputStream(BLOCK_SIZE * 2);
+			byte[] chunk = new byte[16 * 1024];
+			while (!inflater.finished()) {
+				int n = inflater.inflate(chunk);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("세그먼트 블록이 손상되었습니다: " + path);
+				}
+				out.write(chunk, 0, n);
+			}
+			return out.toByteArray();
+		} catch (DataFormatException e) {
+			throw new IOException("세그먼트 블록이 손상되었습니다: " + path, e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+
+	// ===== 읽기 / 쓰기 =====
+
+	// 세그먼트 파일 열기 (인덱스만 메모리에 올림)
+	static ArchiveSegment open(int number, Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			ByteBuffer header = readFully(channel, 0, 8);
+			if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+				throw new IOException("세그먼트 형식이 아닙니다: " + path);
+			}
+			ByteBuffer footer = readFully(channel, size - 12, 12);
+			long indexOffset = footer.getLong();
+			if (footer.getInt() != MAGIC) {
+				throw new IOException("세그먼트가 완전히 기록되지 않았습니다: " + path);
+			}
+
+			ByteBuffer index = readFully(channel, indexOffset, (int) (size - 12 - indexOffset));
+			int count = index.getInt();
+			long[] ids = new long[count];
+			long[] blockOffsets = new long[count];
+			int[] blockLengths = new int[count];
+			int[] offsets = new int[count];
+			int[] lengths = new int[count];
+			for (int i = 0; i < count; i++) {
+				ids[i] = index.getLong();
+				blockOffsets[i] = index.getLong();
+				blockLengths[i] = index.getInt();
+				offsets[i] = index.getInt();
+				lengths[i] = index.getInt();
+			}
+			long stamp = Files.getLastModifiedTime(path).toMillis();
+			return new ArchiveSegment(number, path, stamp, ids, blockOffsets, blockLengths, offsets, lengths);
+		}
+	}
+
+	// 세그먼트 파일 쓰기 (entries 는 ID 오름차순)
+	static void write(Path target, List<Entry> entries) throws IOException {
+		int count = entries.size();
+		long[] blockOffsets = new long[count];
+		int[] blockLengths = new int[count];
+		int[] offsets = new int[count];
+
+		try (OutputStream file = Files.newOutputStream(target);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			long position = 8;
+
+			Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			try {
+				ByteArrayOutputStream block = new ByteArrayOutputStream(BLOCK_SIZE + 4096);
+				int blockStart = 0;
+				for (int i = 0; i <= count; i++) {
+					boolean flush = (i == count) || (block.size() > 0 && block.size() + entries.get(i).json().length > BLOCK_SIZE);
+					if (flush && block.size() > 0) {
+						byte[] compressed = deflate(deflater, block.toByteArray());
+						out.write(compressed);
+						for (int j = blockStart; j < i; j++) {
+							blockOffsets[j] = position;
+							blockLengths[j] = compressed.length;
+						}
+						position += compressed.length;
+						block.reset();
+						blockStart = i;
+					}
+					if (i == count) break;
+					offsets[i] = block.size();
+					block.write(entries.get(i).json());
+				}
+			} finally {
+				deflater.end();
+			}
+
+			long indexOffset = position;
+			out.writeInt(count);
+			for (int i = 0; i < count; i++) {
+				Entry entry = entries.get(i);
+				out.writeLong(entry.id());
+				out.writeLong(blockOffsets[i]);
+				out.writeInt(blockLengths[i]);
+				out.writeInt(offsets[i]);
+				out.writeInt(entry.json().length);
+			}
+			out.writeLong(indexOffset);
+			out.writeInt(MAGIC);
+			out.flush();
+		}
+		// 세그먼트를 등록하고 원본 파일을 지우기 전에 디스크에 확실히 기록
+		try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+	}
+
+	private static byte[] deflate(Deflater deflater, byte[] input) {
+		deflater.reset();
+		deflater.setInput(input);
+		deflater.finish();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+		byte[] chunk = new byte[16 * 1024];
+		while (!deflater.finished()) {
+			int n = deflater.deflate(chunk);
+			out.write(chunk, 0, n);
+		}
+		return out.toByteArray();
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+		if (position < 0 || length < 0) {
+			throw new IOException("세그먼트 형식이 아닙니다");
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("세그먼트가 잘렸습니다");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.filedb.repository;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// uploads/editor 디렉토리의 파일 목록 인메모리 인덱스
+/*
+ * - ImageGcService 가 매번 listFiles 하지 않도록 파일명 집합을 들고 있음
+ * - 업로드/삭제 시 직접 갱신하고, 외부에서 넣거나 지운 파일은 PostFileWatcher 가 반영
+ */
+@Component
+public class EditorImageIndex {
+
+	@Value("${filedb.upload-path}")
+	private String uploadPath;
+
+	private final Set<String> fileNames = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void load() {
+		rescan();
+	}
+
+	// uploads/editor 실제 경로
+	public File getEditorDir() {
+		return new File(uploadPath, "editor");
+	}
+
+	public void add(String fileName) {
+		fileNames.add(fileName);
+	}
+
+	public void remove(String fileName) {
+		fileNames.remove(fileName);
+	}
+
+	// 파일 하나 기준으로 갱신 (존재하면 추가, 없으면 제거)
+	public void refresh(String fileName) {
+		if (new File(getEditorDir(), fileName).isFile()) {
+			fileNames.add(fileName);
+		} else {
+			fileNames.remove(fileName);
+		}
+	}
+
+	// 디렉토리 전체 재스캔 (이벤트 유실 시 / 주기적으로)
+	public void rescan() {
+		File[] files = getEditorDir().listFiles();
+		Set<String> current = new HashSet<>();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isFile()) {
+					current.add(file.getName());
+				}
+			}
+		}
+		fileNames.retainAll(current);
+		fileNames.addAll(current);
+	}
+
+	// 현재 인덱스에 있는 파일 목록
+	public List<File> listFiles() {
+		File dir = getEditorDir();
+		List<File> result = new ArrayList<>(fileNames.size());
+		for (String name : fileNames) {
+			result.add(new File(dir, name));
+		}
+		return result;
+	}
+}
@@ -1,30 +1,66 @@
 package com.example.filedb.repository;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files; // 파일/디렉토리 생성, 존재 여부 확인
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;  // 파일/디렉토리 경로 표현
 import java.nio.file.Paths; // 문자열로부터 Path 객체 생성
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Value; // application.properties 값 주입용
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
+import com.example.filedb.dto.ArchiveStats;
 import com.example.filedb.dto.PostDto;
+import com.example.filedb.dto.WriteBehindStats;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.example.filedb.exception.PostNotFoundException;
+import com.example.filedb.exception.PostVersionConflictException;
+import com.example.filedb.exception.WriteBackpressureException;
+import com.example.filedb.monitor.OperationTracer;
+import com.example.filedb.monitor.RepositoryOperationEvent;
 import com.fasterxml.jackson.databind.ObjectMapper; // JSON <-> 객체 변환 라이브러리
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.RequiredArgsConstructor;
 // Repository 에서 해야할 작업
 /*
 	1. JSON 파일로 저장 <작업 ㅇ>
 	2. 게시글 ID 생성 (시퀀스 파일 포함) <작업 ㅇ>
-	3. 파일 동시성 제어 ㅇ
+	3. 파일 동시성 제어 ㅇ (게시글별 락 + version 비교 저장)
 	4. 게시글 목록 가져오기 <작업 ㅇ>
 	5. 키워드 검색 (파일 필터링) <작업 ㅇ>
+	6. 메타데이터 인메모리 인덱스 + 외부 수정 반영 (PostFileWatcher) <작업 ㅇ>
+	7. write-behind 모드 (filedb.write-behind.enabled) <작업 ㅇ>
+	8. 샤드 디렉토리 구조 (posts/ab/cd/{id}.json) + 예전 위치(posts/{id}.json) 이전 <작업 ㅇ>
+	9. 오래 수정되지 않은 게시글은 압축 아카이브 세그먼트(archive/segment-N.seg)로 이동, 조회는 두 영역 모두 <작업 ㅇ>
+	10. 작업별 JFR 이벤트(filedb.RepositoryOperation) + 느린 작업 로그 (OperationTracer) <작업 ㅇ>
  */
 
 
@@ -42,62 +78,274 @@ public class FilePostRepository {
 	// 읽기에는 ObjectReader를, 쓰기에는 ObjectWriter를 구성하고 사용
 	private final ObjectMapper objectMapper = new ObjectMapper();
 	
+	// 저장/삭제 후 PostChangedEvent 발행 (캐시/인덱스 갱신용)
+	private final ApplicationEventPublisher eventPublisher;
+	
+	// 작업별 JFR 이벤트 + 느린 작업 로그 (파일 수, 바이트, 락 대기 시간)
+	private final OperationTracer tracer;
+	
 	// 디렉토리명 교체 시 유지보수를 위해...
 	private static final String POSTS_DIR_NAME = "posts";
+	private static final String ARCHIVE_DIR_NAME = "archive";
+	
+	// 샤드 한 칸(posts/ab/cd)에 모이는 연속 ID 개수
+	private static final long SHARD_GROUP_SIZE = 1000;
 	
 	// ===== 동시성 제어용 Lock 객체 =====
-	// 게시글 데이터 파일에 대한 Lock
-	private final Object postLock = new Object();
+	// 게시글 데이터 파일에 대한 Lock (게시글 ID 별로 나눈 줄무늬 락)
+	// 서로 다른 게시글의 저장/삭제는 같은 락을 기다리지 않음
+	private static final int POST_LOCK_STRIPES = 64;
+	private final Object[] postLocks = newLocks(POST_LOCK_STRIPES);
 	
 	// 시퀀스 파일에 대한 Lock
 	private final Object sequenceLock = new Object();
 	
+	// 체크포인트 Lock: 인덱스 갱신 + 변경 이벤트(검색 색인 반영)는 읽기 락, 체크포인트 기록은 쓰기 락
+	// -> 스냅샷에 메타데이터만 새 내용이고 검색 색인은 옛 내용인 시점이 기록되지 않음
+	private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+	
+	// 게시글 메타데이터 인메모리 인덱스 (목록 페이징용)
+	// 기동 시 적재는 IndexSnapshotService 가 스냅샷 복원 + rescan 으로 수행
+	private final PostIndex index = new PostIndex();
+	
+	// ===== write-behind 설정 =====
+	// 켜면 저장/삭제는 인덱스 + 대기열에만 반영하고 파일은 전용 스레드가 배치로 기록
+	@Value("${filedb.write-behind.enabled:false}")
+	private boolean writeBehindEnabled;
+	
+	// 대기열(링 버퍼) 크기 - 같은 글의 반복 수정은 한 칸만 차지
+	@Value("${filedb.write-behind.capacity:10000}")
+	private int writeBehindCapacity;
+	
+	// 한 번에 파일로 반영할 최대 게시글 수
+	@Value("${filedb.write-behind.batch-size:256}")
+	private int writeBehindBatchSize;
+	
+	// 대기열이 가득 찼을 때 자리가 나기를 기다리는 시간 (넘으면 503)
+	@Value("${filedb.write-behind.offer-timeout-ms:1000}")
+	private long writeBehindOfferTimeoutMs;
+	
+	// 종료 시 남은 대기분 반영을 기다리는 최대 시간
+	@Value("${filedb.write-behind.shutdown-timeout-ms:30000}")
+	private long writeBehindShutdownTimeoutMs;
+	
+	// write-behind 모드에서 새 ID 를 미리 예약해 두는 개수 (게시글마다 sequences.json 을 쓰지 않도록)
+	private static final int ID_BLOCK_SIZE = 100;
+	
+	// write-behind 대기열 (꺼져 있으면 null -> 동기 저장)
+	private WriteBehindQueue writeBehind;
+	
+	// 예약해 둔 ID 구간 [idBlockNext, idBlockEnd) - sequenceLock 으로 보호
+	private long idBlockNext;
+	private long idBlockEnd;
+	
+	// 콜드 게시글 아카이브 (./data/archive) - 핫 영역(posts)에 파일이 없을 때만 읽음
+	private PostArchive archive;
+	
+	
+	// 0. 아카이브 적재 + write-behind 대기열 시작 / 종료
+	/* - 아카이브는 인덱스 적재(IndexSnapshotService 의 rescan) 전에 올라와 있어야 함
+	 * - 종료 시 남은 대기분을 모두 파일에 반영한 뒤 스레드 종료
+	 * - 파일 반영은 게시글 락을 잡지 않음 (배치를 쓰는 동안 같은 락을 쓰는 저장/조회가 막히지 않도록)
+	 */
+	@PostConstruct
+	public void start() {
+		archive = new PostArchive(Paths.get(basePath, ARCHIVE_DIR_NAME));
+		try {
+			archive.load();
+		} catch (IOException e) {
+			throw new RuntimeException("아카이브 적재 실패: " + archive.dir(), e);
+		}
+		
+		if (!writeBehindEnabled) return;
+		writeBehind = new WriteBehindQueue(
+				Math.max(1, writeBehindCapacity),
+				Math.max(1, writeBehindBatchSize),
+				writeBehindOfferTimeoutMs,
+				new WriteBehindQueue.Flusher() {
+					@Override
+					public void write(List<Long> ids, List<PostDto> states) throws Exception {
+						flushPosts(ids, states);
+					}
+					
+					@Override
+					public void persisted(Long id, PostDto state) {
+						if (state == WriteBehindQueue.TOMBSTONE) return;
+						File file = getPostPath(id).toFile();
+						index.updateStamp(id, file.lastModified(), file.length());
+					}
+				});
+		writeBehind.start();
+	}
+	
+	@PreDestroy
+	public void stopWriteBehind() {
+		if (writeBehind != null) {
+			writeBehind.stop(writeBehindShutdownTimeoutMs);
+		}
+	}
+	
 	
 	
 	
 	// 1. 게시글 저장 
-	/* - ID 가 없으면 시퀀스로 새 ID 발급 후 {id}.json 으로 저장
-	 * - ID 가 있으면 같은 파일명을 가진 JSON을 덮어써서 수정
+	/* - ID 가 없으면 시퀀스로 새 ID 발급 후 {id}.json 으로 저장 (version = 1)
+	 * - ID 가 있으면 같은 파일명을 가진 JSON을 덮어써서 수정 (version 은 현재 값 + 1)
+	 * - 버전 비교 없이 덮어씀 -> 동시 수정 감지가 필요하면 saveIfVersion 사용
 	 */
 	public PostDto save(PostDto post) {
-		//게시글 파일에 대한 동시성 제어
-		synchronized (postLock) { 
-			try {
-				List<PostDto> posts = findAllPosts(); // 파일에서 전체 읽기
-				
-				// 새 게시글이면 ID 시퀀스에서 발급
-				if(post.getId()== null) {
-					// 새 게시글 -> 시퀀스에서 ID 발급
-					post.setId(getNextId());
-					posts.add(post);
+		// 새 게시글이면 ID 시퀀스에서 발급
+		if(post.getId()== null) {
+			// 새 게시글 -> 시퀀스에서 ID 발급
+			post.setId(writeBehind != null ? nextBlockId() : getNextId());
+		}
+		
+		//게시글 파일에 대한 동시성 제어 (해당 게시글 ID 의 락만 잡음)
+		RepositoryOperationEvent trace = tracer.repository("save", post.getId());
+		WriteBehindQueue.Slot slot = reserveWriteBehind(post.getId());
+		try {
+			trace.beforeLock();
+			synchronized (lockFor(post.getId())) {
+				trace.afterLock();
+				long current = index.versionOf(post.getId());
+				post.setVersion(Math.max(current, 0L) + 1);
+				return writePost(post, trace, slot);
+			}
+		} finally {
+			releaseWriteBehind(slot);
+			tracer.end(trace);
+		}
+	}
+	
+	// 1-1. 버전 비교 후 저장 (낙관적 동시성 제어, compare-and-set)
+	/* - 인덱스의 현재 version 이 expectedVersion 과 같을 때만 version + 1 로 저장
+	 * - 다르면 그 사이 다른 요청이 먼저 수정한 것 -> PostVersionConflictException (409)
+	 * - 게시글 락은 비교 + 기록 구간에만 잡으므로 같은 글을 동시에 고치는 요청도 줄 서서 덮어쓰지 않고 바로 실패
+	 */
+	public PostDto saveIfVersion(PostDto post, long expectedVersion) {
+		Long id = post.getId();
+		RepositoryOperationEvent trace = tracer.repository("save", id);
+		WriteBehindQueue.Slot slot = reserveWriteBehind(id);
+		try {
+			trace.beforeLock();
+			synchronized (lockFor(id)) {
+				trace.afterLock();
+				long current = index.versionOf(id);
+				if (current < 0) {
+					throw new PostNotFoundException(id);
 				}
-				
-				// /data/posts/ 디렉토리 경로 생성
-				Path postDir = Paths.get(basePath, POSTS_DIR_NAME);
-				Files.createDirectories(postDir);
-				
-				// 게시글이 저장될 파일 경로 생성: ./data/posts/title.json
-				File file = postDir.resolve(post.getId()+".json").toFile();
-				
-				// 게시글 객체를 포맷된 JSON 파일로 저장
-				objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, post);
-				
-				// 저장완료된 객체 반환 
+				if (current != expectedVersion) {
+					throw new PostVersionConflictException(id, expectedVersion, current);
+				}
+				post.setVersion(current + 1);
+				return writePost(post, trace, slot);
+			}
+		} finally {
+			releaseWriteBehind(slot);
+			tracer.end(trace);
+		}
+	}
+	
+	// write-behind 대기열 자리 확보 / 반납 (게시글 락을 잡기 전후, 꺼져 있으면 null)
+	private WriteBehindQueue.Slot reserveWriteBehind(Long id) {
+		return (writeBehind == null) ? null : writeBehind.reserve(id);
+	}
+	
+	private void releaseWriteBehind(WriteBehindQueue.Slot slot) {
+		if (slot != null) writeBehind.release(slot);
+	}
+	
+	// 게시글 파일 기록 + 인덱스 갱신 + 변경 이벤트 발행 (호출 측에서 해당 게시글 락을 잡은 상태)
+	private PostDto writePost(PostDto post, RepositoryOperationEvent trace, WriteBehindQueue.Slot slot) {
+		try {
+			// write-behind: 대기열에 넣고 인덱스만 먼저 갱신 (파일 스탬프는 반영 후 채움)
+			// 대기열에는 복사본을 넣어서 호출 측이 객체를 계속 바꿔도 반영 내용이 흔들리지 않게 함
+			if (writeBehind != null) {
+				PostDto state = copyOf(post);
+				writeBehind.enqueue(state.getId(), state, slot);
+				applySaved(post, 0L, -1L, eventPublisher::publishEvent);
 				return post;
-				
-			}catch(Exception e) {
-				throw new RuntimeException("파일 저장 오류", e);
 			}
+			
+			// 게시글이 저장될 파일 경로 생성: ./data/posts/ab/cd/{id}.json (샤드 디렉토리 생성)
+			File file = getPostPath(post.getId()).toFile();
+			Files.createDirectories(file.toPath().getParent());
+			
+			// 게시글 객체를 포맷된 JSON 파일로 저장 (임시 파일에 쓴 뒤 교체 -> 읽는 쪽은 반쯤 쓰인 파일을 보지 않음)
+			writeAtomically(objectMapper.writerWithDefaultPrettyPrinter(), file, post);
+			trace.addFile(file);
+			
+			// 예전 위치(posts/{id}.json)에 남아 있던 파일은 정리 (수정하면서 자연스럽게 이전)
+			Files.deleteIfExists(getLegacyPostPath(post.getId()));
+			
+			// 아카이브된 글이었으면 방금 쓴 핫 파일이 최신 -> 아카이브 항목은 무효 처리 (핫 영역으로 승격)
+			archive.supersede(post.getId());
+			
+			// 인덱스 갱신 + 변경 이벤트 발행
+			applySaved(post, file.lastModified(), file.length(), eventPublisher::publishEvent);
+			
+			// 저장완료된 객체 반환 
+			return post;
+			
+		}catch(WriteBackpressureException e) {
+			throw e;
+		}catch(Exception e) {
+			throw new RuntimeException("파일 저장 오류", e);
+		}
+	}
+	
+	// 인덱스 반영 + 변경 알림 (체크포인트가 둘 사이에 끼지 않도록 checkpointLock 안에서)
+	private void applySaved(PostDto post, long fileLastModified, long fileLength, Consumer<PostChangedEvent> sink) {
+		checkpointLock.readLock().lock();
+		try {
+			index.put(post, fileLastModified, fileLength);
+			sink.accept(PostChangedEvent.saved(post));
+		} finally {
+			checkpointLock.readLock().unlock();
+		}
+	}
+	
+	private void applyDeleted(Long id, Consumer<PostChangedEvent> sink) {
+		checkpointLock.readLock().lock();
+		try {
+			index.remove(id);
+			sink.accept(PostChangedEvent.deleted(id));
+		} finally {
+			checkpointLock.readLock().unlock();
 		}
 	}
 	
+	// 게시글 ID 에 해당하는 락
+	private Object lockFor(Long id) {
+		return postLocks[(int) Math.floorMod(id, (long) POST_LOCK_STRIPES)];
+	}
+	
+	private static Object[] newLocks(int count) {
+		Object[] locks = new Object[count];
+		for (int i = 0; i < count; i++) {
+			locks[i] = new Object();
+		}
+		return locks;
+	}
+	
 	// 2. ID 시퀀스 생성
 	/* - sequence.json 파일에 대해 동시성 제어 적용
 	 * - sequenceLock 으로 JVM 내부 동시성 제어
 	 */
 	private Long getNextId() {
+		return allocateIds(1);
+	}
+	
+	// 2-1. ID 블록 발급
+	/* - count 개의 연속된 ID 를 한 번에 예약하고 첫 번째 ID 를 반환
+	 * - 대량 등록 시 sequences.json 을 게시글마다가 아니라 배치마다 한 번만 다시 씀
+	 */
+	public Long allocateIds(int count) {
+	    RepositoryOperationEvent trace = tracer.repository("sequence");
 	    // JVM 내부 동시성 제어
+	    trace.beforeLock();
 	    synchronized (sequenceLock) {
+	        trace.afterLock();
 	        try {
 	            Path seqPath = Paths.get(basePath, "sequences.json");
 	            File seqFile = seqPath.toFile();
@@ -122,96 +370,180 @@ public class FilePostRepository {
 	            Object raw = map.getOrDefault("post", 0);
 	            long current = (raw instanceof Number) ? ((Number) raw).longValue() : 0L;
 
-	            long next = current + 1;
-	            map.put("post", next);
+	            long first = current + 1;
+	            map.put("post", current + count);
 
 	            // 변경된 시퀀스 값을 파일에 다시 저장
-	            try (var os = Files.newOutputStream(seqPath)) {
-	                objectMapper.writerWithDefaultPrettyPrinter()
-	                        .writeValue(os, map);
-	            }
+	            writeAtomically(objectMapper.writerWithDefaultPrettyPrinter(), seqFile, map);
+	            trace.addFile(seqFile);
 
-	            return next;
+	            return first;
 	        } catch (Exception e) {
 	            throw new RuntimeException("시퀀스 생성 오류", e);
+	        } finally {
+	            tracer.end(trace);
 	        }
 	    }
 	}
 	
+	// 2-1-1. write-behind 용 ID 발급
+	/* - ID_BLOCK_SIZE 개씩 미리 예약해 두고 하나씩 꺼내 씀
+	 * - 재시작하면 남은 예약분은 버려지므로 ID 사이에 빈 번호가 생길 수 있음
+	 */
+	private Long nextBlockId() {
+		synchronized (sequenceLock) {
+			if (idBlockNext >= idBlockEnd) {
+				idBlockNext = allocateIds(ID_BLOCK_SIZE);
+				idBlockEnd = idBlockNext + ID_BLOCK_SIZE;
+			}
+			return idBlockNext++;
+		}
+	}
+	
+	// 2-2. 여러 게시글 일괄 저장
+	/* - ID 는 호출 측에서 allocateIds 로 미리 채워서 넘김
+	 * - 새로 발급한 ID 이므로 다른 요청과 겹치지 않음 -> 게시글 락은 파일마다 짧게만 잡음
+	 * - 모두 새 게시글이므로 version = 1
+	 * - 이벤트는 게시글마다가 아니라 배치 끝에 PostsImportedEvent 한 번만 발행
+	 * - write-behind 모드여도 대기열을 거치지 않고 바로 파일에 씀
+	 *   (새 ID 라 대기 중인 변경과 겹칠 일이 없고, 대량 데이터로 대기열을 채우지 않기 위함)
+	 */
+	public void saveAll(List<PostDto> posts) {
+		RepositoryOperationEvent trace = tracer.repository("save-all");
+		int written = 0;
+		// 배치 끝의 이벤트까지 체크포인트와 겹치지 않도록
+		checkpointLock.readLock().lock();
+		try {
+			ObjectWriter writer = objectMapper.writerWithDefaultPrettyPrinter();
+			Path lastDir = null;
+			for (PostDto post : posts) {
+				trace.beforeLock();
+				synchronized (lockFor(post.getId())) {
+					trace.afterLock();
+					post.setVersion(1L);
+					File file = getPostPath(post.getId()).toFile();
+					// 연속된 ID 는 같은 샤드이므로 디렉토리가 바뀔 때만 생성
+					Path dir = file.toPath().getParent();
+					if (!dir.equals(lastDir)) {
+						Files.createDirectories(dir);
+						lastDir = dir;
+					}
+					writeAtomically(writer, file, post);
+					trace.addFile(file);
+					index.put(post, file);
+				}
+				written++;
+			}
+		} catch (Exception e) {
+			throw new RuntimeException("파일 저장 오류", e);
+		} finally {
+			tracer.end(trace);
+			// 중간에 실패했어도 이미 파일에 쓴 게시글은 알림
+			try {
+				if (written > 0) {
+					eventPublisher.publishEvent(new PostsImportedEvent(List.copyOf(posts.subList(0, written))));
+				}
+			} finally {
+				checkpointLock.readLock().unlock();
+			}
+		}
+	}
+	
 	// 3. ID 로 단건 조회 
     public Optional<PostDto> findPostById(Long id) {
+        // 아직 파일에 반영되지 않은 write-behind 대기분이 있으면 그 상태가 최신
+        if (writeBehind != null) {
+            PostDto pending = writeBehind.lookup(id);
+            if (pending == WriteBehindQueue.TOMBSTONE) return Optional.empty();
+            if (pending != null) return Optional.of(copyOf(pending));
+        }
+        RepositoryOperationEvent trace = tracer.repository("read", id);
         try {
-        	// 조회할 파일 경로
-        	// ./data/posts/{id}.json
-            File file = Paths.get(basePath, "posts", id + ".json").toFile();
-            
-            // 파일이 존재하지 않으면 빈 Optional 반
-            if (!file.exists()) return Optional.empty();
-            
-            // 파일이 존재하면 JSON 을 읽어서 PostDto 객체로 변환
-            PostDto post = objectMapper.readValue(file, PostDto.class);
-            
-            // Optional 로 감싸서 변환 
-            return Optional.of(post);
+            // 파일을 찾은 뒤 읽기 전에 샤드 이전으로 옮겨졌으면 한 번 더 찾아서 읽음
+            for (int attempt = 0; attempt < 2; attempt++) {
+            	// 조회할 파일 경로 (./data/posts/ab/cd/{id}.json, 이전 전이면 ./data/posts/{id}.json)
+                File file = findPostFile(id);
+                
+                // 핫 영역에 파일이 없으면 아카이브에서 읽음 (아카이브에도 없으면 빈 Optional)
+                if (file == null) return readArchived(id);
+                
+                try {
+                    // 파일이 존재하면 JSON 을 읽어서 PostDto 객체로 변환 후 Optional 로 감싸서 반환
+                    PostDto post = objectMapper.readValue(file, PostDto.class);
+                    trace.addFile(file);
+                    return Optional.of(post);
+                } catch (FileNotFoundException e) {
+                    // 읽기 직전에 이동/삭제/아카이브됨 -> 다시 찾기
+                }
+            }
+            return readArchived(id);
 
         } catch (Exception e) {
             throw new RuntimeException("파일 읽기 오류", e);
+        } finally {
+            tracer.end(trace);
         }
     }
 
     // 4. 전체 목록 조회
+    /* - 샤드 디렉토리를 병렬로 훑어 파일 목록을 ID 순으로 만든 뒤 (listPostFiles)
+     * - 파일 읽기도 병렬로 하되 결과는 최신 글 순(ID 내림차순) 유지
+     */
     public List<PostDto> findAllPosts() {
         try {
-        	// 게시글이 저장된 디렉토리 객체 
-            File dir = Paths.get(basePath, POSTS_DIR_NAME).toFile();
-            
-            // 디렉토리가 없다면 빈 리스트 반환
-            if (!dir.exists()) return List.of();
-            
-            // 디렉토리 안의 파일 목록 중에서 확장자가 .json 인 것들 선택
-            File[] files = dir.listFiles((d, name) -> name.endsWith(".json"));
-            
-            // 파일이 아예 없다면 빈 리스트 반환
-            if (files == null) return List.of();
-            
-            // 결과를 담을 리스트 생성
-            List<PostDto> list = new ArrayList<>();
-            
-            // 각 JSON 파일을 읽어서 PostDto 로 변환 후 리스트에 넣기
-            for (File file : files) {
-                PostDto post = objectMapper.readValue(file, PostDto.class);
-                list.add(post);
-            }
-
-            // 최신 글 순으로 정렬(ID 기준 내림차순)
-            list.sort(Comparator.comparing(PostDto::getId).reversed());
-            
-            // 정렬된 리스트 반환
-            return list;
-
+            return readAllNewestFirst(listPostFiles());
         } catch (Exception e) {
             throw new RuntimeException("목록 조회 실패", e);
         }
     }
 
     // 5. 삭제
-    /* ./data/posts/{id}.json 파일 삭제
-     * 쓰기(삭제) 작업만 postLock 으로 보호
+    /* ./data/posts/ab/cd/{id}.json (+ 이전 전 위치 ./data/posts/{id}.json) 파일 삭제
+     * 쓰기(삭제) 작업만 해당 게시글 락으로 보호
      */ 
     public void deletePostById(Long id) {
-    	synchronized (postLock) {
+    	RepositoryOperationEvent trace = tracer.repository("delete", id);
+    	// write-behind: 삭제 표시만 대기열에 넣고 인덱스에서는 바로 제거 (자리는 락 밖에서 확보)
+    	if (writeBehind != null) {
+    		WriteBehindQueue.Slot slot = writeBehind.reserve(id);
     		try {
-                // 삭제 대상 파일 경로: ./data/posts/{id}.json
-                File file = Paths.get(basePath, POSTS_DIR_NAME, id + ".json").toFile();
-                
-                // 파일이 존재하면 삭제
-                if (file.exists()) {
-                    if (!file.delete()) {
-                        throw new RuntimeException("파일 삭제 실패: " + file.getAbsolutePath());
+    			trace.beforeLock();
+    			synchronized (lockFor(id)) {
+    				trace.afterLock();
+    				writeBehind.enqueue(id, WriteBehindQueue.TOMBSTONE, slot);
+    				applyDeleted(id, eventPublisher::publishEvent);
+    			}
+    		} finally {
+    			writeBehind.release(slot);
+    			tracer.end(trace);
+    		}
+    		return;
+    	}
+    	trace.beforeLock();
+    	synchronized (lockFor(id)) {
+    		trace.afterLock();
+    		try {
+                // 삭제 대상 파일 경로: 샤드 위치와 예전 위치 모두
+                for (Path path : List.of(getPostPath(id), getLegacyPostPath(id))) {
+                    File file = path.toFile();
+                    // 파일이 존재하면 삭제
+                    if (file.exists()) {
+                        long size = trace.isActive() ? file.length() : 0L;
+                        if (!file.delete()) {
+                            throw new RuntimeException("파일 삭제 실패: " + file.getAbsolutePath());
+                        }
+                        trace.addFile(size);
                     }
                 }
+                // 아카이브에 있던 글이면 아카이브 항목도 무효 처리
+                archive.supersede(id);
+                
+                // 인덱스에서도 제거 + 변경 이벤트 발행
+                applyDeleted(id, eventPublisher::publishEvent);
             } catch (Exception e) {
                 throw new RuntimeException("파일 삭제 오류", e);
+            } finally {
+                tracer.end(trace);
             }
 	    }
     }
@@ -219,44 +551,695 @@ public class FilePostRepository {
     
     // 6. 게시글 검색 (제목 + 내용, 키워드 포함 여부로 필터링)
     public List<PostDto> searchPosts(String keyword) {
+        RepositoryOperationEvent trace = tracer.repository("search");
         try {
         	// 검색어를 소문자로 전환
             String lowerKeyword = keyword.toLowerCase();
             
-            // 게시글이 저장된 디렉토리 가져오기
-            File dir = Paths.get(basePath, POSTS_DIR_NAME).toFile();
-            if (!dir.exists()) return List.of(); // 없으면 전체목록 리턴
-            
-            // 디렉토리 내부의 JSON 파일만 목록으로 가져오기
-            File[] files = dir.listFiles((d, name) -> name.endsWith(".json"));
-            if (files == null) return List.of(); // 없으면 전체목록 리턴
-            
-            // 검색 결과를 저장할 리스트 
-            List<PostDto> result = new ArrayList<>();
-            
-            // 각 파일(게시글 JSON)을 읽어서 매칭 여부 검사
-            for (File file : files) {
-            	// JSON -> PostDto 로 변환
-                PostDto post = objectMapper.readValue(file, PostDto.class);
-                
-                // 제목 또는 내용에 검색어가 포함되어 있는지 체크 (제목, 내용)
-                boolean match =
-                        (post.getTitle() != null && post.getTitle().toLowerCase().contains(lowerKeyword)) ||
-                        (post.getContent() != null && post.getContent().toLowerCase().contains(lowerKeyword));
-                // 매칭되면 검색 결과 리스트에 담기
-                if (match) {
-                    result.add(post);
-                }
-            }
-            
-            // 검색 결과를 최신 글(ID 내림차순) 순 정렬
-            result.sort(Comparator.comparing(PostDto::getId).reversed());
+            // 전체 게시글 (최신 글 순) 중 제목 또는 내용에 검색어가 포함된 것만 남김
+            List<PostDto> result = findAllPosts();
+            trace.addFiles(result.size(), 0L);
+            result.removeIf(post -> !matchesKeyword(post, lowerKeyword));
             
             // 최종 검색 결과 반환
             return result;	
 
         } catch (Exception e) {
             throw new RuntimeException("검색 중 오류 발생", e);
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    
+    // 7. 인덱스 기준 전체 게시글 수 (파일을 읽지 않음)
+    public int countPosts() {
+        return index.size();
+    }
+    
+    
+    // 7-2. 인덱스에 올라간 전체 게시글의 (ID, 제목) 순회 (파일을 읽지 않음)
+    public void forEachTitle(BiConsumer<Long, String> action) {
+        index.forEachTitle(action);
+    }
+    
+    
+    // 7-1. 인덱스에 올라간 게시글 메타데이터 조회 (파일을 읽지 않음)
+    public Optional<PostMeta> findPostMeta(Long id) {
+        return Optional.ofNullable(index.get(id));
+    }
+    
+    
+    // 8. 현재 게시글 목록 스냅샷 (락 없이 읽는 불변 ID 목록)
+    /* - 전체 개수와 페이지 ID 를 같은 스냅샷에서 꺼내면 그 사이 저장/삭제가 있어도 어긋나지 않음
+     * - 스냅샷을 들고 있으면 다음 페이지도 같은 버전 기준으로 자를 수 있음 (PageSnapshotStore)
+     */
+    public PostListSnapshot listSnapshot() {
+        return index.snapshot();
+    }
+    
+    
+    // 8-1. 작성자 / 날짜 범위 조건 목록의 ID 조회 (보조 인덱스, 파일을 읽지 않음)
+    /* - writer 가 null 이면 전체 작성자
+     * - updated 가 true 면 수정일 기준 범위/정렬, 아니면 작성일 기준
+     * - from/to 는 epoch millis (PostMeta.toEpochMillis 와 같은 기준), 양끝 포함
+     */
+    public IdPage findPostIdsByTime(String writer, boolean updated, long from, long to, int offset, int limit) {
+        return index.findByTime(writer, updated, from, to, offset, limit);
+    }
+    
+    
+    // 9. 단건 파일 기준으로 인덱스 갱신 (PostFileWatcher 에서 호출)
+    /* - 파일이 없으면 인덱스에서 제거
+     * - mtime/size 스탬프가 같으면 다시 읽지 않음 (자기 자신이 쓴 파일 이벤트는 여기서 걸러짐)
+     */
+    public void refreshPost(Long id) {
+        refreshPost(id, eventPublisher::publishEvent);
+    }
+    
+    // 9-1. 변경 내용을 이벤트 발행 대신 sink 로 넘기는 버전
+    /* - 기동 중(@EventListener 등록 전)에는 발행한 이벤트를 받을 곳이 없으므로
+     *   IndexSnapshotService 가 sink 로 직접 받아서 다른 인덱스에 반영
+     */
+    public void refreshPost(Long id, Consumer<PostChangedEvent> sink) {
+        // 감시 스레드에서 호출되므로 저장/삭제와 같은 락 안에서 확인 -> 읽기 -> 반영
+        // (락 밖에서 확인하면 동시에 삭제된 글이 되살아나거나, 방금 저장한 글을 옛 내용으로 덮을 수 있음)
+        synchronized (lockFor(id)) {
+            // write-behind 대기 중인 글은 파일보다 메모리 상태가 최신이므로 건너뜀
+            if (writeBehind != null && writeBehind.isPending(id)) return;
+            
+            File file = findPostFile(id);
+            if (file == null) {
+                // 핫 영역에 없으면 아카이브 확인 (스탬프는 세그먼트 mtime + JSON 길이)
+                PostArchive.Location location = archive.locate(id);
+                if (location != null) {
+                    refreshArchived(location, sink);
+                    return;
+                }
+                if (index.get(id) != null) {
+                    applyDeleted(id, sink);
+                }
+                return;
+            }
+            if (index.hasStamp(id, file.lastModified(), file.length())) {
+                return;
+            }
+            long lastModified = file.lastModified();
+            long length = file.length();
+            RepositoryOperationEvent trace = tracer.repository("refresh", id);
+            try {
+                PostDto post = objectMapper.readValue(file, PostDto.class);
+                trace.addFile(length);
+                // 읽는 사이에 외부에서 파일이 바뀌었으면 이번 내용은 버리고 다음 이벤트에서 다시 읽음
+                if (file.lastModified() != lastModified || file.length() != length) return;
+                post.setId(id); // 파일명을 ID 의 기준으로 사용
+                applySaved(post, lastModified, length, sink);
+            } catch (Exception e) {
+                // 쓰는 도중이거나 깨진 파일 -> 다음 이벤트/재스캔에서 다시 시도
+                System.err.println("[FilePostRepository] 인덱스 갱신 실패: " + file.getAbsolutePath());
+            } finally {
+                tracer.end(trace);
+            }
+        }
+    }
+    
+    private void refreshArchived(PostArchive.Location location, Consumer<PostChangedEvent> sink) {
+        long id = location.id();
+        if (index.hasStamp(id, location.lastModified(), location.length())) return;
+        try {
+            PostDto post = objectMapper.readValue(archive.read(location), PostDto.class);
+            post.setId(id);
+            applySaved(post, location.lastModified(), location.length(), sink);
+        } catch (Exception e) {
+            System.err.println("[FilePostRepository] 인덱스 갱신 실패: 아카이브 id=" + id);
+        }
+    }
+    
+    
+    // 10. 디렉토리 전체 재스캔 (WatchService 이벤트 유실(OVERFLOW) 시, 주기적으로)
+    public void rescan() {
+        rescan(eventPublisher::publishEvent);
+    }
+    
+    // 10-1. 디렉토리 전체 재스캔 (기동 시에는 sink 로 변경 내용을 넘김)
+    /* - 파일 내용은 읽지 않고 mtime/size(한 번의 속성 조회)만 비교해서 바뀐 파일만 다시 읽음
+     *   -> 스냅샷 복원 후에는 스냅샷 이후 추가/수정된 파일만 파싱
+     * - 디렉토리에서 사라진 파일은 인덱스에서 제거 (아카이브에 있는 글은 남김)
+     * - 샤드 디렉토리는 병렬로 훑고(listPostFiles), 반영은 ID 오름차순으로 함
+     *   -> 스냅샷 없이 기동할 때도 인덱스에는 맨 끝에 추가만 일어남
+     * - 본 ID 는 long[] 에 모아 이진 탐색
+     */
+    public void rescan(Consumer<PostChangedEvent> sink) {
+        RepositoryOperationEvent trace = tracer.repository("rescan");
+        try {
+            List<PostFile> files = listPostFiles();
+            long[] seen = new long[files.size()];
+            int seenCount = 0;
+            
+            for (PostFile file : files) {
+                seen[seenCount++] = file.id();
+                if (index.hasStamp(file.id(), file.lastModified(), file.size())) continue;
+                // files / bytes 는 다시 읽은 파일만
+                trace.addFile(file.size());
+                refreshPost(file.id(), sink);
+            }
+            
+            for (long id : index.idArray()) {
+                if (Arrays.binarySearch(seen, 0, seenCount, id) < 0) {
+                    // 목록을 만든 뒤 새로 저장됐을 수 있으므로 락 안에서 다시 확인하고 제거
+                    refreshPost(id, sink);
+                }
+            }
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    
+    // 10-2. 인덱스 스냅샷 기록 / 복원 (IndexSnapshotService 에서 호출)
+    /* - 기록하는 동안 인덱스 갱신을 막고(checkpointLock), 같은 시점의 다른 색인(following)도 이어서 기록
+     *   -> 저장 요청은 기록이 끝날 때까지 인덱스 반영 직전에서 기다림
+     */
+    public void writeIndexSnapshot(DataOutputStream out, SnapshotSection following) throws IOException {
+        checkpointLock.writeLock().lock();
+        try {
+            index.writeTo(out);
+            following.writeTo(out);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+    
+    // 인덱스 스냅샷 뒤에 이어서 기록할 내용
+    @FunctionalInterface
+    public interface SnapshotSection {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+    
+    public void readIndexSnapshot(DataInputStream in) throws IOException {
+        index.readFrom(in);
+    }
+    
+    // 스냅샷 복원 실패 시 인덱스 비우기
+    public void clearIndex() {
+        index.clear();
+    }
+    
+    
+    // 11. 전체 게시글을 ID 오름차순으로 하나씩 넘겨줌 (내보내기용)
+    /* - 전체 리스트를 만들지 않고 인덱스를 순회하며 한 건씩 파일을 읽음
+     * - 순회 도중 삭제된 글은 건너뜀
+     */
+    public void forEachPost(Consumer<PostDto> action) {
+        for (Long id : index.idsAscending()) {
+            findPostById(id).ifPresent(action);
+        }
+    }
+    
+    
+    // 11-1. 키워드가 포함된 게시글 ID 목록 (최신 글 순)
+    /* - 검색 결과 캐시(SearchResultCache)를 채울 때 사용
+     * - 게시글 본문은 들고 있지 않고 ID 만 모음
+     */
+    public List<Long> searchPostIds(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        List<Long> ids = new ArrayList<>();
+        forEachPostNewestFirst(post -> {
+            if (matchesKeyword(post, lowerKeyword)) {
+                ids.add(post.getId());
+            }
+        });
+        return ids;
+    }
+    
+    
+    // 12. 전체 게시글을 최신 글(ID 내림차순) 순으로 하나씩 넘겨줌 (스트리밍 응답용)
+    public void forEachPostNewestFirst(Consumer<PostDto> action) {
+        for (Long id : index.idsDescending()) {
+            findPostById(id).ifPresent(action);
+        }
+    }
+    
+    
+    // 13. write-behind 대기열 상태 (꺼져 있으면 enabled=false)
+    public WriteBehindStats writeBehindStats() {
+        return (writeBehind == null) ? WriteBehindStats.disabled() : writeBehind.stats();
+    }
+    
+    
+    // write-behind 쓰기 스레드가 배치 단위로 파일 반영
+    /* - TOMBSTONE 은 파일 삭제, 나머지는 {id}.json 덮어쓰기
+     * - 인덱스 스탬프 갱신은 반영한 상태가 여전히 최신일 때만 (Flusher.persisted)
+     */
+    private void flushPosts(List<Long> ids, List<PostDto> states) throws IOException {
+        RepositoryOperationEvent trace = tracer.repository("flush");
+        try {
+            ObjectWriter writer = objectMapper.writerWithDefaultPrettyPrinter();
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                File file = getPostPath(id).toFile();
+                PostDto state = states.get(i);
+                if (state != WriteBehindQueue.TOMBSTONE) {
+                    Files.createDirectories(file.toPath().getParent());
+                    writeAtomically(writer, file, state);
+                    trace.addFile(file);
+                } else {
+                    Files.deleteIfExists(file.toPath());
+                }
+                Files.deleteIfExists(getLegacyPostPath(id));
+                // 저장이면 핫 파일이 최신, 삭제면 없어야 하므로 어느 쪽이든 아카이브 항목은 무효
+                archive.supersede(id);
+            }
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    
+    // JSON 을 같은 디렉토리의 임시 파일({이름}.tmp)에 쓴 뒤 원래 이름으로 원자적 교체
+    /* - 교체 전까지 기존 파일은 그대로이므로 동시에 읽는 요청은 이전 내용 전체 또는 새 내용 전체만 봄
+     * - 임시 파일은 *.json 이 아니라서 목록/감시(PostFileWatcher) 대상에서 빠짐
+     * - 같은 파일을 동시에 쓰는 경우는 호출 측 락(게시글 락 / sequenceLock / write-behind 단일 스레드)으로 막혀 있음
+     */
+    private static void writeAtomically(ObjectWriter writer, File target, Object value) throws IOException {
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + ".tmp");
+        writer.writeValue(tempPath.toFile(), value);
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    
+    // 게시글 복사 (write-behind 대기분을 호출 측과 공유하지 않기 위해)
+    private PostDto copyOf(PostDto post) {
+        return objectMapper.convertValue(post, PostDto.class);
+    }
+    
+    
+    // 제목 또는 내용에 (소문자로 바꾼) 검색어가 포함되어 있는지
+    public static boolean matchesKeyword(PostDto post, String lowerKeyword) {
+        return (post.getTitle() != null && post.getTitle().toLowerCase().contains(lowerKeyword)) ||
+               (post.getContent() != null && post.getContent().toLowerCase().contains(lowerKeyword));
+    }
+    
+    
+    // 14. 예전 위치(./data/posts/{id}.json)에 남아 있는 게시글 ID 목록 (샤드 이전 대상)
+    public List<Long> findLegacyPostIds() {
+        Path dir = getPostsDir();
+        if (!Files.isDirectory(dir)) return List.of();
+        List<Long> ids = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path path : stream) {
+                Long id = parsePostId(path.getFileName().toString());
+                if (id != null) ids.add(id);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("목록 조회 실패", e);
+        }
+        ids.sort(null);
+        return ids;
+    }
+    
+    
+    // 14-1. 게시글 하나를 예전 위치에서 샤드 위치로 이전 (서비스 중에도 안전)
+    /* - 샤드 위치에 하드 링크를 만든 뒤 예전 파일을 지움
+     *   -> 같은 파일(inode)이므로 mtime/size 가 그대로라 인덱스를 다시 읽지 않고,
+     *      이미 샤드 위치에 (write-behind 등으로 더 새) 파일이 있으면 링크가 실패해서 덮어쓰지 않음
+     * - 하드 링크를 지원하지 않는 파일 시스템이면 덮어쓰지 않는 이동으로 대체
+     * - 이전할 파일이 없으면 false
+     */
+    public boolean migrateToShard(Long id) {
+        RepositoryOperationEvent trace = tracer.repository("migrate", id);
+        trace.beforeLock();
+        synchronized (lockFor(id)) {
+            trace.afterLock();
+            Path legacy = getLegacyPostPath(id);
+            if (!Files.isRegularFile(legacy)) {
+                tracer.end(trace);
+                return false;
+            }
+            Path target = getPostPath(id);
+            try {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.createLink(target, legacy);
+                } catch (FileAlreadyExistsException e) {
+                    // 샤드 쪽이 최신 -> 예전 파일만 정리
+                } catch (UnsupportedOperationException | IOException e) {
+                    // 하드 링크 미지원 -> 덮어쓰지 않는 이동 (대상이 이미 있으면 예전 파일만 정리)
+                    try {
+                        Files.move(legacy, target);
+                        return true;
+                    } catch (FileAlreadyExistsException ignored) {
+                    }
+                }
+                Files.deleteIfExists(legacy);
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException("샤드 이전 실패: " + legacy, e);
+            } finally {
+                tracer.end(trace);
+            }
+        }
+    }
+    
+    
+    // 15. 아카이브 대상 게시글 ID 목록 (ID 오름차순)
+    /* - 수정일(updatedAt)이 coldAfter 보다 오래됐고 아직 핫 영역에 파일이 있는 글
+     * - 파일 mtime 이 최근이면(외부에서 고친 글) 제외
+     * - write-behind 대기 중인 글은 제외
+     */
+    public List<Long> findColdPostIds(Duration coldAfter) {
+        long updatedBefore = PostMeta.toEpochMillis(LocalDateTime.now().minus(coldAfter).toString());
+        long modifiedBefore = System.currentTimeMillis() - coldAfter.toMillis();
+        
+        List<Long> ids = new ArrayList<>(
+                index.findByTime(null, true, Long.MIN_VALUE, updatedBefore, 0, Integer.MAX_VALUE).ids());
+        ids.sort(null);
+        ids.removeIf(id -> {
+            if (writeBehind != null && writeBehind.isPending(id)) return true;
+            File file = findPostFile(id);
+            return file == null || file.lastModified() >= modifiedBefore;
+        });
+        return ids;
+    }
+    
+    
+    // 15-1. 게시글들을 세그먼트 하나로 묶어 아카이브 (ids 는 ID 오름차순, 옮긴 수 반환)
+    /* 1) 핫 파일 원본을 읽어 세그먼트를 새로 쓰고 등록 (락 없음, 읽은 파일 스탬프는 기억)
+     * 2) 게시글마다 락을 잡고 핫 파일이 그 사이 그대로면 삭제 + 인덱스 스탬프를 아카이브 기준으로 바꿈
+     *    그 사이 수정됐으면(스탬프/버전이 다르거나 write-behind 대기 중) 핫 파일을 남기고 아카이브 항목은 무효 처리
+     * - 세그먼트를 등록한 뒤에 핫 파일을 지우므로 조회는 어느 순간에도 둘 중 하나에서 찾음
+     */
+    public int archivePosts(List<Long> ids) {
+        RepositoryOperationEvent trace = tracer.repository("archive");
+        try {
+            return archivePosts(ids, trace);
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    // 아카이브 본체 (읽은 파일 수 / 바이트와 게시글 락 대기 시간을 trace 에 누적)
+    private int archivePosts(List<Long> ids, RepositoryOperationEvent trace) {
+        List<ArchiveSegment.Entry> entries = new ArrayList<>(ids.size());
+        List<PostFile> sources = new ArrayList<>(ids.size());
+        List<Long> versions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            long version = index.versionOf(id);
+            File file = findPostFile(id);
+            if (file == null) continue;
+            PostFile source = toPostFile(file.toPath(), Tier.SHARD);
+            if (source == null) continue;
+            try {
+                entries.add(new ArchiveSegment.Entry(id, Files.readAllBytes(file.toPath())));
+                trace.addFile(source.size());
+                sources.add(source);
+                versions.add(version);
+            } catch (NoSuchFileException e) {
+                // 읽기 직전에 삭제/이동됨
+            } catch (IOException e) {
+                throw new RuntimeException("파일 읽기 오류: " + file.getAbsolutePath(), e);
+            }
+        }
+        if (entries.isEmpty()) return 0;
+        
+        try {
+            archive.append(entries);
+        } catch (IOException e) {
+            throw new RuntimeException("아카이브 세그먼트 기록 실패", e);
+        }
+        
+        int archived = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            PostFile source = sources.get(i);
+            long id = source.id();
+            trace.beforeLock();
+            synchronized (lockFor(id)) {
+                trace.afterLock();
+                try {
+                    File current = findPostFile(id);
+                    boolean unchanged = current != null
+                            && current.toPath().equals(source.path())
+                            && current.lastModified() == source.lastModified()
+                            && current.length() == source.size()
+                            && index.versionOf(id) == versions.get(i)
+                            && !(writeBehind != null && writeBehind.isPending(id));
+                    PostArchive.Location location = archive.locate(id);
+                    if (!unchanged || location == null) {
+                        archive.supersede(id);
+                        continue;
+                    }
+                    Files.delete(source.path());
+                    index.updateStamp(id, location.lastModified(), location.length());
+                    archived++;
+                } catch (IOException e) {
+                    System.err.println("[FilePostRepository] 아카이브 후 정리 실패: id=" + id + ", " + e.getMessage());
+                }
+            }
+        }
+        return archived;
+    }
+    
+    
+    // 15-2. 핫 파일과 아카이브에 동시에 유효하게 남은 글 정리 (아카이브 도중 중단된 경우)
+    /* - 핫 파일이 우선이므로 아카이브 항목을 무효 처리 (다음 아카이브 때 다시 옮겨짐)
+     * - 아카이브 작업과 동시에 돌리지 않음 (PostTieringService 가 순서대로 호출)
+     */
+    public int reconcileArchive() {
+        int superseded = 0;
+        for (PostArchive.Location location : archive.liveLocations()) {
+            long id = location.id();
+            synchronized (lockFor(id)) {
+                if (findPostFile(id) == null) continue;
+                try {
+                    if (archive.supersede(id)) superseded++;
+                } catch (IOException e) {
+                    System.err.println("[FilePostRepository] 아카이브 정리 실패: id=" + id + ", " + e.getMessage());
+                }
+            }
+        }
+        return superseded;
+    }
+    
+    
+    // 15-3. 아카이브 상태 (세그먼트 수, 아카이브에 있는 게시글 수, 세그먼트 크기 합)
+    public ArchiveStats archiveStats() {
+        return new ArchiveStats(archive.segmentCount(), archive.liveCount(), archive.totalBytes());
+    }
+    
+    
+    // 아카이브에서 게시글 읽기 (없거나 그 사이 무효 처리됐으면 빈 Optional)
+    private Optional<PostDto> readArchived(long id) {
+        PostArchive.Location location = archive.locate(id);
+        if (location == null) return Optional.empty();
+        RepositoryOperationEvent trace = tracer.repository("read-archive", id);
+        try {
+            PostDto post = objectMapper.readValue(archive.read(location), PostDto.class);
+            trace.addFile(location.length());
+            return Optional.of(post);
+        } catch (IOException e) {
+            throw new RuntimeException("아카이브 읽기 오류: id=" + id, e);
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    
+    // 게시글 파일의 실제 경로 (./data/posts)
+    public Path getPostsDir() {
+        return Paths.get(basePath, POSTS_DIR_NAME);
+    }
+    
+    
+    // 게시글 파일 경로 (샤드): ./data/posts/{ab}/{cd}/{id}.json
+    /* - 1000 개 단위 묶음 번호(id / 1000)의 끝 네 자리를 두 단계 디렉토리로 사용
+     *   예) 5191 -> posts/00/05/5191.json, 1234567 -> posts/12/34/1234567.json
+     * - 디렉토리 하나에 파일이 1000 개 안팎만 모이고, 연속된 ID 는 같은 디렉토리에 있어서 ID 순 순회에 유리
+     */
+    public Path getPostPath(long id) {
+        long group = id / SHARD_GROUP_SIZE;
+        return getPostsDir()
+                .resolve(twoDigits((group / 100) % 100))
+                .resolve(twoDigits(group % 100))
+                .resolve(id + ".json");
+    }
+    
+    // 샤드 도입 전 경로: ./data/posts/{id}.json
+    private Path getLegacyPostPath(long id) {
+        return getPostsDir().resolve(id + ".json");
+    }
+    
+    // 실제로 있는 게시글 파일 (샤드 위치 우선, 없으면 예전 위치, 둘 다 없으면 null)
+    // 예전 위치를 확인하는 사이 이전됐을 수 있으므로 샤드 위치를 한 번 더 확인
+    private File findPostFile(long id) {
+        File sharded = getPostPath(id).toFile();
+        if (sharded.isFile()) return sharded;
+        File legacy = getLegacyPostPath(id).toFile();
+        if (legacy.isFile()) return legacy;
+        return sharded.isFile() ? sharded : null;
+    }
+    
+    private static String twoDigits(long value) {
+        return (value < 10) ? "0" + value : Long.toString(value);
+    }
+    
+    // 샤드 디렉토리 이름인지 (두 자리 숫자)
+    public static boolean isShardDirName(String name) {
+        return name.length() == 2
+                && Character.isDigit(name.charAt(0))
+                && Character.isDigit(name.charAt(1));
+    }
+    
+    
+    // 게시글이 있는 곳 (같은 ID 가 여러 곳에 있으면 앞쪽이 우선)
+    private enum Tier { SHARD, LEGACY, ARCHIVE }
+    
+    // 게시글 파일 한 개의 위치 + 스탬프 (아카이브면 path 는 세그먼트 파일)
+    private record PostFile(long id, Path path, long lastModified, long size, Tier tier) {}
+    
+    // 전체 게시글 파일 목록 (ID 오름차순)
+    /* - posts/ab/cd 샤드 디렉토리들을 병렬로 훑고, 예전 위치(posts/{id}.json)와 아카이브도 함께 포함
+     * - 같은 ID 가 여러 곳에 있으면(이전/아카이브 도중) 샤드 -> 예전 위치 -> 아카이브 순으로 사용
+     * - 훑는 도중 사라진 파일은 건너뜀
+     */
+    private List<PostFile> listPostFiles() {
+        RepositoryOperationEvent trace = tracer.repository("list");
+        try {
+            List<PostFile> files = scanPostFiles();
+            trace.addFiles(files.size(), 0L);
+            return files;
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    // 샤드 / 예전 위치 / 아카이브를 훑어 목록 만들기 (계측은 listPostFiles)
+    private List<PostFile> scanPostFiles() {
+        Path root = getPostsDir();
+        
+        List<Path> leafDirs = new ArrayList<>();
+        List<PostFile> files = new ArrayList<>();
+        for (PostArchive.Location location : archive.liveLocations()) {
+            files.add(new PostFile(location.id(), location.segment().path(),
+                    location.lastModified(), location.length(), Tier.ARCHIVE));
+        }
+        if (!Files.isDirectory(root)) return files;
+        
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (isShardDirName(name) && Files.isDirectory(path)) {
+                    try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+                        for (Path child : children) {
+                            if (isShardDirName(child.getFileName().toString()) && Files.isDirectory(child)) {
+                                leafDirs.add(child);
+                            }
+                        }
+                    }
+                } else {
+                    PostFile file = toPostFile(path, Tier.LEGACY);
+                    if (file != null) files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("목록 조회 실패", e);
+        }
+        
+        // 샤드(말단 디렉토리)별로 병렬 스캔
+        files.addAll(leafDirs.parallelStream()
+                .flatMap(dir -> scanShard(dir).stream())
+                .toList());
+        
+        // ID 순 정렬, 같은 ID 는 우선하는 곳을 앞에 두고 나머지는 제거
+        files.sort(Comparator.comparingLong(PostFile::id).thenComparing(PostFile::tier));
+        List<PostFile> result = new ArrayList<>(files.size());
+        for (PostFile file : files) {
+            if (!result.isEmpty() && result.get(result.size() - 1).id() == file.id()) continue;
+            result.add(file);
+        }
+        return result;
+    }
+    
+    private List<PostFile> scanShard(Path dir) {
+        List<PostFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path path : stream) {
+                PostFile file = toPostFile(path, Tier.SHARD);
+                if (file != null) files.add(file);
+            }
+        } catch (NoSuchFileException e) {
+            // 훑는 도중 디렉토리가 사라짐
+        } catch (IOException e) {
+            throw new RuntimeException("목록 조회 실패", e);
+        }
+        return files;
+    }
+    
+    private static PostFile toPostFile(Path path, Tier tier) {
+        Long id = parsePostId(path.getFileName().toString());
+        if (id == null) return null;
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) return null;
+            return new PostFile(id, path, attrs.lastModifiedTime().toMillis(), attrs.size(), tier);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    // 파일 목록(ID 오름차순)을 병렬로 읽어서 최신 글 순으로 반환 (읽는 도중 사라진 파일은 제외)
+    private List<PostDto> readAllNewestFirst(List<PostFile> files) {
+        RepositoryOperationEvent trace = tracer.repository("read-all");
+        try {
+            long bytes = 0;
+            for (PostFile file : files) bytes += file.size();
+            trace.addFiles(files.size(), bytes);
+            return readAll(files);
+        } finally {
+            tracer.end(trace);
+        }
+    }
+    
+    // JSON 파싱 (계측은 readAllNewestFirst)
+    private List<PostDto> readAll(List<PostFile> files) {
+        int count = files.size();
+        PostDto[] posts = new PostDto[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            PostFile file = files.get(i);
+            try {
+                if (file.tier() == Tier.ARCHIVE) {
+                    posts[count - 1 - i] = readArchived(file.id()).orElse(null);
+                    return;
+                }
+                posts[count - 1 - i] = objectMapper.readValue(file.path().toFile(), PostDto.class);
+            } catch (FileNotFoundException e) {
+                // 읽기 직전에 이동/삭제됨
+            } catch (IOException e) {
+                throw new RuntimeException("파일 읽기 오류: " + file.path(), e);
+            }
+        });
+        
+        List<PostDto> result = new ArrayList<>(count);
+        for (PostDto post : posts) {
+            if (post != null) result.add(post);
+        }
+        return result;
+    }
+    
+    
+    // "{id}.json" 파일명에서 ID 추출 (형식이 다르면 null)
+    public static Long parsePostId(String fileName) {
+        if (fileName == null || !fileName.endsWith(".json")) return null;
+        String name = fileName.substring(0, fileName.length() - ".json".length());
+        if (name.isEmpty() || name.length() > 18) return null;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') return null;
         }
+        return Long.parseLong(name);
     }
 }
@@ -0,0 +1,7 @@
+package com.example.filedb.repository;
+
+import java.util.List;
+
+// 인덱스 조회 결과: 조건에 맞는 전체 개수 + 요청한 페이지의 게시글 ID
+public record IdPage(long total, List<Long> ids) {
+}
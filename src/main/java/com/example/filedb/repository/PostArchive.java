@@ -0,0 +1,240 @@
+package com.example.filedb.repository;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 콜드 게시글 아카이브 (./data/archive)
+/*
+ * - segment-{번호}.seg : 읽기 전용 세그먼트 (ArchiveSegment), 한 번 쓰면 고치지 않음
+ * - tombstones.dat     : (세그먼트 번호, 게시글 ID) 목록, 삭제되거나 핫 영역으로 승격되어 더 이상 유효하지 않은 항목
+ * - 같은 ID 가 여러 세그먼트에 있으면 가장 최근(번호가 큰) 세그먼트의 항목만 의미가 있음
+ *   (다시 아카이브되려면 먼저 승격 -> 예전 항목은 이미 무효 처리됨)
+ * - 세그먼트 목록은 새 목록으로 통째로 바꿔 끼우므로 조회는 락 없이 함
+ */
+final class PostArchive {
+
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".seg";
+	private static final String TOMBSTONES_FILE = "tombstones.dat";
+
+	private final Path dir;
+
+	// 최신 세그먼트가 앞
+	private volatile List<ArchiveSegment> segments = List.of();
+
+	// 아카이브에서 찾은 게시글 위치
+	record Location(ArchiveSegment segment, int position) {
+		long id() {
+			return segment.idAt(position);
+		}
+
+		// 인덱스 스탬프 (세그먼트 mtime + 게시글 JSON 길이)
+		long lastModified() {
+			return segment.stamp();
+		}
+
+		long length() {
+			return segment.lengthAt(position);
+		}
+	}
+
+	PostArchive(Path dir) {
+		this.dir = dir;
+	}
+
+	Path dir() {
+		return dir;
+	}
+
+
+	// 1. 세그먼트 + 무효 목록 적재 (디렉토리가 없으면 빈 아카이브)
+	/* - 쓰다 만 세그먼트(*.tmp)는 지움
+	 * - 형식이 깨진 세그먼트는 건너뛰고 로그만 남김 (원본 핫 파일은 세그먼트 등록 후에만 지우므로 유실 없음)
+	 */
+	synchronized void load() throws IOException {
+		if (!Files.isDirectory(dir)) {
+			segments = List.of();
+			return;
+		}
+
+		List<ArchiveSegment> loaded = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				if (name.endsWith(SEGMENT_SUFFIX + ".tmp")) {
+					Files.deleteIfExists(path);
+					continue;
+				}
+				int number = parseSegmentNumber(name);
+				if (number < 0) continue;
+				try {
+					loaded.add(ArchiveSegment.open(number, path));
+				} catch (IOException e) {
+					System.err.println("[PostArchive] 세그먼트 적재 실패: " + path + ", " + e.getMessage());
+				}
+			}
+		}
+		loaded.sort(Comparator.comparingInt(ArchiveSegment::number).reversed());
+
+		Path tombstones = dir.resolve(TOMBSTONES_FILE);
+		if (Files.isRegularFile(tombstones)) {
+			try (InputStream file = Files.newInputStream(tombstones);
+					DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+				while (true) {
+					int number;
+					long id;
+					try {
+						number = in.readInt();
+						id = in.readLong();
+					} catch (EOFException e) {
+						break; // 끝 (마지막 기록이 잘렸으면 그 기록은 무시)
+					}
+					for (ArchiveSegment segment : loaded) {
+						if (segment.number() != number) continue;
+						int pos = segment.positionOf(id);
+						if (pos >= 0) segment.markDead(pos);
+						break;
+					}
+				}
+			}
+		}
+		segments = List.copyOf(loaded);
+	}
+
+
+	// 2. 게시글 위치 찾기 (아카이브에 없거나 무효 처리됐으면 null)
+	Location locate(long id) {
+		for (ArchiveSegment segment : segments) {
+			int pos = segment.positionOf(id);
+			if (pos < 0) continue;
+			return segment.isDead(pos) ? null : new Location(segment, pos);
+		}
+		return null;
+	}
+
+	// 2-1. 게시글 JSON 원본 읽기
+	byte[] read(Location location) throws IOException {
+		return location.segment().read(location.position());
+	}
+
+
+	// 3. 아카이브 항목 무효 처리 (삭제 / 핫 영역으로 승격)
+	/* - 무효 목록 파일에 먼저 기록한 뒤 메모리에 반영
+	 * - 유효한 항목이 없으면 아무것도 하지 않음
+	 */
+	boolean supersede(long id) throws IOException {
+		// 대부분의 저장은 아카이브와 무관하므로 락 없이 먼저 확인
+		if (locate(id) == null) return false;
+		synchronized (this) {
+			Location location = locate(id);
+			if (location == null) return false;
+
+			try (OutputStream file = Files.newOutputStream(dir.resolve(TOMBSTONES_FILE),
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+					DataOutputStream out = new DataOutputStream(file)) {
+				out.writeInt(location.segment().number());
+				out.writeLong(id);
+			}
+			location.segment().markDead(location.position());
+			return true;
+		}
+	}
+
+
+	// 4. 새 세그먼트 기록 + 등록 (entries 는 ID 오름차순)
+	/* - 임시 파일에 다 쓰고 디스크에 반영한 뒤 이름을 바꿔서 등록
+	 *   -> 등록된 세그먼트는 항상 완전한 파일
+	 */
+	synchronized ArchiveSegment append(List<ArchiveSegment.Entry> entries) throws IOException {
+		Files.createDirectories(dir);
+		int number = segments.isEmpty() ? 1 : segments.get(0).number() + 1;
+		Path target = dir.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+		ArchiveSegment.write(temp, entries);
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target);
+		}
+
+		ArchiveSegment segment = ArchiveSegment.open(number, target);
+		List<ArchiveSegment> next = new ArrayList<>(segments.size() + 1);
+		next.add(segment);
+		next.addAll(segments);
+		segments = List.copyOf(next);
+		return segment;
+	}
+
+
+	// 5. 아카이브에 유효하게 남아 있는 게시글 위치 (ID 오름차순, 재스캔용)
+	List<Location> liveLocations() {
+		List<Location> all = new ArrayList<>();
+		for (ArchiveSegment segment : segments) {
+			for (int pos = 0; pos < segment.size(); pos++) {
+				all.add(new Location(segment, pos));
+			}
+		}
+		// ID 순, 같은 ID 는 최신 세그먼트 항목만 보고 무효 처리된 항목은 제외
+		all.sort(Comparator.comparingLong(Location::id)
+				.thenComparing(location -> location.segment().number(), Comparator.reverseOrder()));
+		List<Location> result = new ArrayList<>(all.size());
+		long lastId = Long.MIN_VALUE;
+		for (Location location : all) {
+			if (location.id() == lastId) continue;
+			lastId = location.id();
+			if (!location.segment().isDead(location.position())) {
+				result.add(location);
+			}
+		}
+		return result;
+	}
+
+
+	// 6. 상태 (세그먼트 수, 유효 게시글 수, 세그먼트 파일 크기 합)
+	int segmentCount() {
+		return segments.size();
+	}
+
+	long liveCount() {
+		long live = 0;
+		for (ArchiveSegment segment : segments) {
+			live += segment.liveCount();
+		}
+		return live;
+	}
+
+	long totalBytes() {
+		long bytes = 0;
+		for (ArchiveSegment segment : segments) {
+			bytes += segment.fileSize();
+		}
+		return bytes;
+	}
+
+
+	// "segment-{번호}.seg" -> 번호 (형식이 다르면 -1)
+	private static int parseSegmentNumber(String name) {
+		if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+		String digits = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+		if (digits.isEmpty() || digits.length() > 9) return -1;
+		for (int i = 0; i < digits.length(); i++) {
+			if (!Character.isDigit(digits.charAt(i))) return -1;
+		}
+		return Integer.parseInt(digits);
+	}
+}
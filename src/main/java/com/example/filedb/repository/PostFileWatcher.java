@@ -0,0 +1,234 @@
+package com.example.filedb.repository;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// data/posts, uploads/editor 디렉토리 변경 감지 (WatchService)
+/*
+ * 운영자가 JSON/이미지 파일을 직접 넣거나 복구한 경우에도 인메모리 인덱스가 어긋나지 않도록
+ *  1. 이벤트가 오면 바뀐 파일명만 모아두고 (debounce)
+ *  2. debounce-ms 동안 조용해지면 모아둔 파일만 인덱스에 반영
+ *  3. OVERFLOW(이벤트 유실)이거나 rescan-interval-ms 가 지나면 mtime/size 기준 전체 재스캔
+ * WatchService 는 하위 디렉토리를 감시하지 않으므로 posts/ab, posts/ab/cd 샤드 디렉토리도 각각 등록
+ * (새 샤드 디렉토리가 생기면 바로 등록하고, 등록 전에 생긴 파일도 반영 대상에 넣음)
+ */
+@Component
+@RequiredArgsConstructor
+public class PostFileWatcher {
+
+	private final FilePostRepository postRepository;
+	private final EditorImageIndex editorImageIndex;
+
+	@Value("${filedb.watch.enabled:true}")
+	private boolean enabled;
+
+	// 마지막 이벤트 이후 이 시간만큼 조용하면 반영
+	@Value("${filedb.watch.debounce-ms:300}")
+	private long debounceMs;
+
+	// 이벤트가 계속 몰려와도 이 시간이 지나면 일단 반영
+	@Value("${filedb.watch.max-delay-ms:3000}")
+	private long maxDelayMs;
+
+	// 주기적인 전체 재스캔 간격 (mtime/size 비교라 비용이 낮음)
+	@Value("${filedb.watch.rescan-interval-ms:60000}")
+	private long rescanIntervalMs;
+
+	private WatchService watchService;
+	private Thread worker;
+
+	// 등록된 WatchKey -> 감시 중인 디렉토리
+	private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+	private final Set<Path> registeredDirs = new HashSet<>();
+
+	// debounce 동안 모아둔 변경 파일명
+	private final Set<String> pendingPosts = new LinkedHashSet<>();
+	private final Set<String> pendingImages = new LinkedHashSet<>();
+
+	@PostConstruct
+	public void start() throws IOException {
+		if (!enabled) return;
+
+		watchService = FileSystems.getDefault().newWatchService();
+		registerDirs();
+
+		worker = new Thread(this::run, "filedb-watcher");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() throws IOException {
+		if (watchService != null) {
+			watchService.close(); // poll() 이 ClosedWatchServiceException 으로 빠져나옴
+		}
+	}
+
+	private void run() {
+		long lastRescan = System.currentTimeMillis();
+		long firstPendingAt = 0;
+		boolean overflow = false;
+
+		try {
+			while (true) {
+				WatchKey key = watchService.poll(debounceMs, TimeUnit.MILLISECONDS);
+				long now = System.currentTimeMillis();
+
+				if (key != null) {
+					Path dir = watchedDirs.get(key);
+					boolean postsTree = dir != null && dir.startsWith(postRepository.getPostsDir().toAbsolutePath());
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							overflow = true;
+							continue;
+						}
+						Path child = (Path) event.context();
+						String fileName = child.getFileName().toString();
+						if (postsTree) {
+							if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+									&& FilePostRepository.isShardDirName(fileName)) {
+								try {
+									registerPostTree(dir.resolve(child), true);
+								} catch (IOException e) {
+									// 등록 전에 지워졌거나 권한이 바뀜 -> 그 아래 변경을 놓쳤을 수 있으므로 전체 재스캔
+									System.err.println("[PostFileWatcher] 샤드 디렉토리 등록 실패: " + dir.resolve(child) + " (" + e.getMessage() + ")");
+									overflow = true;
+								}
+							} else {
+								pendingPosts.add(fileName);
+							}
+						} else {
+							pendingImages.add(fileName);
+						}
+					}
+					if (firstPendingAt == 0) firstPendingAt = now;
+
+					// 디렉토리가 삭제되면 key 가 무효화됨 -> 재스캔 때 다시 등록
+					if (!key.reset()) {
+						registeredDirs.remove(watchedDirs.remove(key));
+					}
+				}
+
+				// 조용해졌거나(poll 타임아웃) 너무 오래 쌓였으면 반영
+				boolean quiet = (key == null);
+				if (firstPendingAt != 0 && (quiet || now - firstPendingAt >= maxDelayMs)) {
+					flushPending();
+					firstPendingAt = 0;
+				}
+
+				if (overflow || now - lastRescan >= rescanIntervalMs) {
+					rescanAll();
+					pendingPosts.clear();
+					pendingImages.clear();
+					overflow = false;
+					lastRescan = now;
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// 종료 (감시 스레드는 이 두 경우에만 끝남, 나머지 오류는 기록하고 계속 감시)
+		}
+	}
+
+	// 모아둔 파일만 인덱스에 반영 (한 파일이 실패해도 나머지는 반영, 실패한 파일은 주기적 재스캔이 다시 맞춤)
+	private void flushPending() {
+		for (String fileName : pendingPosts) {
+			Long id = FilePostRepository.parsePostId(fileName);
+			if (id == null) continue;
+			try {
+				postRepository.refreshPost(id);
+			} catch (RuntimeException e) {
+				System.err.println("[PostFileWatcher] 게시글 반영 실패: id=" + id + " (" + e.getMessage() + ")");
+			}
+		}
+		for (String fileName : pendingImages) {
+			try {
+				editorImageIndex.refresh(fileName);
+			} catch (RuntimeException e) {
+				System.err.println("[PostFileWatcher] 에디터 이미지 반영 실패: " + fileName + " (" + e.getMessage() + ")");
+			}
+		}
+		pendingPosts.clear();
+		pendingImages.clear();
+	}
+
+	// 전체 재스캔 + 아직 등록 못 한(나중에 생긴) 디렉토리 등록
+	private void rescanAll() {
+		try {
+			postRepository.rescan();
+			editorImageIndex.rescan();
+			registerDirs();
+		} catch (Exception e) {
+			System.err.println("[PostFileWatcher] 재스캔 실패: " + e.getMessage());
+		}
+	}
+
+	// 존재하는 디렉토리만 등록 (없는 디렉토리는 생길 때까지 주기적 재스캔으로 커버)
+	private void registerDirs() throws IOException {
+		Path postsDir = postRepository.getPostsDir().toAbsolutePath();
+		register(postsDir);
+		if (postsDir.toFile().isDirectory()) {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(postsDir)) {
+				for (Path child : stream) {
+					if (FilePostRepository.isShardDirName(child.getFileName().toString())) {
+						registerPostTree(child, false);
+					}
+				}
+			}
+		}
+		register(editorImageIndex.getEditorDir().toPath().toAbsolutePath());
+	}
+
+	// 샤드 디렉토리(posts/ab 또는 posts/ab/cd)와 그 아래 샤드 디렉토리 등록
+	// 새로 생긴 디렉토리(collectFiles)는 등록 전에 이미 생긴 파일의 이벤트를 놓쳤으므로 반영 대상에 넣음
+	// (기동/재스캔 때는 전체 재스캔이 반영하므로 모으지 않음)
+	private void registerPostTree(Path dir, boolean collectFiles) throws IOException {
+		if (!register(dir)) return;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path child : stream) {
+				String name = child.getFileName().toString();
+				if (FilePostRepository.isShardDirName(name)) {
+					registerPostTree(child, collectFiles);
+				} else if (collectFiles) {
+					pendingPosts.add(name);
+				}
+			}
+		} catch (NoSuchFileException e) {
+			// 등록 직후 삭제됨
+		}
+	}
+
+	// 새로 등록했으면 true
+	private boolean register(Path dir) throws IOException {
+		if (!dir.toFile().isDirectory() || registeredDirs.contains(dir)) return false;
+		WatchKey key = dir.register(watchService,
+				StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY,
+				StandardWatchEventKinds.ENTRY_DELETE);
+		watchedDirs.put(key, dir);
+		registeredDirs.add(dir);
+		return true;
+	}
+}
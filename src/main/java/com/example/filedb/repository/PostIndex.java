@@ -0,0 +1,622 @@
+package com.example.filedb.repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import com.example.filedb.dto.PostDto;
+
+// 게시글 메타데이터 인메모리 인덱스 (컬럼 저장)
+/*
+ * - 게시글마다 객체를 두지 않고 필드별 원시 타입 배열에 저장 (ID 오름차순 정렬)
+ *     ids / createdAt / updatedAt(epoch millis) / lastModified / length / version : long[]
+ *     writer : 작성자 사전(dictionary) 코드 int[]
+ *     title  : off-heap(direct ByteBuffer) 에 UTF-8 로 이어 붙이고 offset/length 만 int[] 로 보관
+ * - 작성자별 / 작성일·수정일 범위 조회용 보조 인덱스(TimeIndex)도 같은 락 안에서 함께 갱신
+ * - 목록 페이징은 파일 전체를 읽지 않고 이 인덱스에서 ID 만 잘라낸 뒤 해당 파일만 읽음
+ * - FilePostRepository 의 save/delete 와 PostFileWatcher(외부 수정 감지)가 함께 갱신
+ * - ID 집합이 바뀌면 불변 목록 스냅샷(PostListSnapshot)을 새로 발행
+ *   -> 기본 목록 페이징은 락 없이 스냅샷만 읽음
+ *   -> 맨 끝 추가는 바로 발행, 삭제/중간 삽입은 표시만 해 두고 다음 스냅샷 조회 때 한 번만 복사
+ */
+class PostIndex {
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int INITIAL_TITLE_BYTES = 64 * 1024;
+
+	// 순회 시 한 번에 읽기 락을 잡고 가져오는 ID 개수
+	private static final int ITERATION_CHUNK = 1024;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private int count;
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private long[] createdAt = new long[INITIAL_CAPACITY];
+	private long[] updatedAt = new long[INITIAL_CAPACITY];
+	private long[] lastModified = new long[INITIAL_CAPACITY];
+	private long[] lengths = new long[INITIAL_CAPACITY];
+	private long[] revisions = new long[INITIAL_CAPACITY];
+	private long[] versions = new long[INITIAL_CAPACITY];
+	private int[] writerCodes = new int[INITIAL_CAPACITY];
+	private int[] titleOffsets = new int[INITIAL_CAPACITY];
+	private int[] titleLengths = new int[INITIAL_CAPACITY];
+
+	// 작성자 사전: 같은 작성자 문자열은 한 번만 보관
+	private final Map<String, Integer> writerDictionary = new HashMap<>();
+	private final List<String> writerNames = new ArrayList<>();
+
+	// 제목 바이트 영역 (off-heap). 수정/삭제된 제목은 garbage 로 남았다가 압축 시 정리
+	// (압축 때 titleLengths 가 가리키는 제목만 옮기므로 garbage 는 따로 세지 않음)
+	private ByteBuffer titleBytes = ByteBuffer.allocateDirect(INITIAL_TITLE_BYTES);
+	private int titleBytesUsed;
+
+	private long nextRevision = 1;
+
+	// 마지막으로 발행한 목록 스냅샷 (읽기는 락 없이 이 참조만 가져감)
+	private volatile PostListSnapshot published = PostListSnapshot.EMPTY;
+	// 마지막 스냅샷이 쓰는 배열 (새 글이 맨 끝에 붙을 때만 공유해서 이어 씀)
+	private long[] snapshotIds = new long[0];
+	private long snapshotVersion;
+	// 삭제/중간 삽입 후 아직 발행하지 않음 (연속 삭제는 복사 한 번으로 합쳐짐)
+	private volatile boolean snapshotStale;
+
+	// 보조 인덱스: (전체 / 작성자별) x (작성일 / 수정일)
+	private final TimeIndex byCreated = new TimeIndex();
+	private final TimeIndex byUpdated = new TimeIndex();
+	private final TimeIndex byWriterCreated = new TimeIndex();
+	private final TimeIndex byWriterUpdated = new TimeIndex();
+
+
+	PostMeta get(Long id) {
+		lock.readLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			return (pos < 0) ? null : metaAt(pos);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 전체 (ID, 제목) 을 ID 오름차순으로 (제목 자동완성 색인 재구성용, 파일을 읽지 않음)
+	void forEachTitle(BiConsumer<Long, String> action) {
+		lock.readLock().lock();
+		try {
+			for (int pos = 0; pos < count; pos++) {
+				action.accept(ids[pos], readTitle(pos));
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	void put(PostDto post, File file) {
+		put(post, file.lastModified(), file.length());
+	}
+
+	// 파일 스탬프를 직접 지정 (write-behind 로 아직 파일이 없을 때는 0 / -1)
+	void put(PostDto post, long fileLastModified, long fileLength) {
+		byte[] title = (post.getTitle() == null) ? null : post.getTitle().getBytes(StandardCharsets.UTF_8);
+
+		lock.writeLock().lock();
+		try {
+			long id = post.getId();
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			boolean added = pos < 0;
+			if (added) {
+				pos = -(pos + 1);
+				insertSlot(pos);
+				ids[pos] = id;
+			} else {
+				unindexSecondary(pos);
+				// 이전 제목은 garbage -> 새 제목을 넣기 전 압축이 일어나도 옮기지 않도록 먼저 비움
+				titleLengths[pos] = -1;
+			}
+
+			createdAt[pos] = PostMeta.toEpochMillis(post.getCreatedAt());
+			updatedAt[pos] = PostMeta.toEpochMillis(post.getUpdatedAt());
+			lastModified[pos] = fileLastModified;
+			lengths[pos] = fileLength;
+			revisions[pos] = nextRevision++;
+			versions[pos] = (post.getVersion() == null) ? 0L : post.getVersion();
+			writerCodes[pos] = writerCode(post.getWriter());
+			storeTitle(pos, title);
+			indexSecondary(pos);
+			if (added) {
+				if (pos == count - 1 && !snapshotStale) {
+					publishAppended(id);
+				} else {
+					snapshotStale = true;
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			if (pos < 0) return;
+			unindexSecondary(pos);
+			removeSlot(pos);
+			snapshotStale = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// 작성자 / 날짜 범위 조건 목록 (보조 인덱스 사용)
+	/*
+	 * - writer 가 null 이면 전체, updated 면 수정일 기준(아니면 작성일 기준)
+	 * - [from, to] (epoch millis, 양끝 포함) 범위를 최근 순으로 offset 부터 limit 개
+	 */
+	IdPage findByTime(String writer, boolean updated, long from, long to, int offset, int limit) {
+		lock.readLock().lock();
+		try {
+			int group = 0;
+			TimeIndex timeIndex = updated ? byUpdated : byCreated;
+			if (writer != null) {
+				Integer code = writerDictionary.get(writer);
+				if (code == null) return new IdPage(0, List.of());
+				group = code;
+				timeIndex = updated ? byWriterUpdated : byWriterCreated;
+			}
+			return new IdPage(
+					timeIndex.count(group, from, to),
+					timeIndex.pageDescending(group, from, to, offset, limit));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// write-behind 반영 후 파일 스탬프만 갱신 (메타데이터는 그대로)
+	void updateStamp(long id, long fileLastModified, long fileLength) {
+		lock.writeLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			if (pos < 0) return;
+			lastModified[pos] = fileLastModified;
+			lengths[pos] = fileLength;
+			revisions[pos] = nextRevision++;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// 게시글 버전 (낙관적 동시성 제어용, 인덱스에 없으면 -1)
+	long versionOf(long id) {
+		lock.readLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			return (pos < 0) ? -1L : versions[pos];
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 파일 스탬프(mtime + size)가 인덱스와 같은지 (PostMeta 를 만들지 않고 비교)
+	boolean hasStamp(long id, long fileLastModified, long fileLength) {
+		lock.readLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, id);
+			return pos >= 0 && lastModified[pos] == fileLastModified && lengths[pos] == fileLength;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	int size() {
+		return snapshot().size();
+	}
+
+	// 현재 목록 스냅샷 (발행 대기 중인 변경이 없으면 락 없음)
+	PostListSnapshot snapshot() {
+		if (!snapshotStale) return published;
+		lock.writeLock().lock();
+		try {
+			if (snapshotStale) publishAll();
+			return published;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// 현재 인덱스에 올라간 ID 전체 (오름차순 복사본, 박싱 없음)
+	long[] idArray() {
+		lock.readLock().lock();
+		try {
+			return Arrays.copyOf(ids, count);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// 최신 글 순 ID 순회 (ID 값 기준으로 이어서 읽으므로 도중에 저장/삭제가 있어도 안전)
+	Iterable<Long> idsDescending() {
+		return () -> new ChunkIterator(true);
+	}
+
+	// 오래된 글 순 ID 순회
+	Iterable<Long> idsAscending() {
+		return () -> new ChunkIterator(false);
+	}
+
+	void clear() {
+		lock.writeLock().lock();
+		try {
+			reset(INITIAL_CAPACITY);
+			publishAll();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+
+	// ===== 스냅샷 =====
+	/*
+	 * [작성자 사전] int 개수, (문자열)...
+	 * [행]         int 개수, (id, createdAt, updatedAt, lastModified, length, version, writerCode, 제목)...
+	 * 문자열은 int 바이트 길이(-1 = null) + UTF-8 바이트
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		lock.readLock().lock();
+		try {
+			out.writeInt(writerNames.size());
+			for (String writer : writerNames) {
+				writeString(out, writer);
+			}
+
+			out.writeInt(count);
+			for (int pos = 0; pos < count; pos++) {
+				out.writeLong(ids[pos]);
+				out.writeLong(createdAt[pos]);
+				out.writeLong(updatedAt[pos]);
+				out.writeLong(lastModified[pos]);
+				out.writeLong(lengths[pos]);
+				out.writeLong(versions[pos]);
+				out.writeInt(writerCodes[pos]);
+				int length = titleLengths[pos];
+				out.writeInt(length);
+				if (length > 0) {
+					byte[] bytes = new byte[length];
+					titleBytes.get(titleOffsets[pos], bytes);
+					out.write(bytes);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	void readFrom(DataInputStream in) throws IOException {
+		lock.writeLock().lock();
+		try {
+			int writerCount = in.readInt();
+			List<String> writers = new ArrayList<>(writerCount);
+			for (int i = 0; i < writerCount; i++) {
+				writers.add(readString(in));
+			}
+
+			int rows = in.readInt();
+			reset(Math.max(INITIAL_CAPACITY, rows));
+			for (int i = 0; i < writers.size(); i++) {
+				writerNames.add(writers.get(i));
+				writerDictionary.put(writers.get(i), i);
+			}
+
+			for (int pos = 0; pos < rows; pos++) {
+				ids[pos] = in.readLong();
+				createdAt[pos] = in.readLong();
+				updatedAt[pos] = in.readLong();
+				lastModified[pos] = in.readLong();
+				lengths[pos] = in.readLong();
+				versions[pos] = in.readLong();
+				writerCodes[pos] = in.readInt();
+				revisions[pos] = nextRevision++;
+				int length = in.readInt();
+				byte[] title = null;
+				if (length >= 0) {
+					title = new byte[length];
+					in.readFully(title);
+				}
+				storeTitle(pos, title);
+				count++;
+			}
+			loadSecondary();
+			publishAll();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	// ===== 내부 구현 =====
+
+	// 맨 끝에 새 ID 가 붙은 경우: 배열에 여유가 있으면 이전 스냅샷과 공유 (이전 스냅샷 범위 밖에만 씀)
+	private void publishAppended(long id) {
+		int length = published.size();
+		if (snapshotIds.length <= length) {
+			snapshotIds = Arrays.copyOf(snapshotIds, Math.max(INITIAL_CAPACITY, length * 2));
+		}
+		snapshotIds[length] = id;
+		published = new PostListSnapshot(++snapshotVersion, snapshotIds, length + 1, true);
+	}
+
+	// 중간 삽입 / 삭제 / 전체 적재: 새 배열로 복사해서 발행 (이전 스냅샷 배열은 그대로 둠)
+	private void publishAll() {
+		long[] copy = new long[count + (count >> 3) + 16];
+		System.arraycopy(ids, 0, copy, 0, count);
+		snapshotIds = copy;
+		published = new PostListSnapshot(++snapshotVersion, snapshotIds, count, true);
+		snapshotStale = false;
+	}
+
+	private void reset(int capacity) {
+		count = 0;
+		ids = new long[capacity];
+		createdAt = new long[capacity];
+		updatedAt = new long[capacity];
+		lastModified = new long[capacity];
+		lengths = new long[capacity];
+		revisions = new long[capacity];
+		versions = new long[capacity];
+		writerCodes = new int[capacity];
+		titleOffsets = new int[capacity];
+		titleLengths = new int[capacity];
+		writerDictionary.clear();
+		writerNames.clear();
+		titleBytes = ByteBuffer.allocateDirect(INITIAL_TITLE_BYTES);
+		titleBytesUsed = 0;
+		byCreated.clear();
+		byUpdated.clear();
+		byWriterCreated.clear();
+		byWriterUpdated.clear();
+	}
+
+	// ---- 보조 인덱스 ----
+
+	private void indexSecondary(int pos) {
+		byCreated.add(0, createdAt[pos], ids[pos]);
+		byUpdated.add(0, updatedAt[pos], ids[pos]);
+		byWriterCreated.add(writerCodes[pos], createdAt[pos], ids[pos]);
+		byWriterUpdated.add(writerCodes[pos], updatedAt[pos], ids[pos]);
+	}
+
+	private void unindexSecondary(int pos) {
+		byCreated.remove(0, createdAt[pos], ids[pos]);
+		byUpdated.remove(0, updatedAt[pos], ids[pos]);
+		byWriterCreated.remove(writerCodes[pos], createdAt[pos], ids[pos]);
+		byWriterUpdated.remove(writerCodes[pos], updatedAt[pos], ids[pos]);
+	}
+
+	// 스냅샷 복원 후 컬럼 배열로부터 한 번에 구성
+	private void loadSecondary() {
+		int[] global = new int[count];
+		byCreated.load(global, createdAt, ids, count);
+		byUpdated.load(global, updatedAt, ids, count);
+		byWriterCreated.load(writerCodes, createdAt, ids, count);
+		byWriterUpdated.load(writerCodes, updatedAt, ids, count);
+	}
+
+	private PostMeta metaAt(int pos) {
+		int code = writerCodes[pos];
+		return new PostMeta(
+				ids[pos],
+				readTitle(pos),
+				(code < 0) ? null : writerNames.get(code),
+				createdAt[pos],
+				updatedAt[pos],
+				lastModified[pos],
+				lengths[pos],
+				revisions[pos],
+				versions[pos]);
+	}
+
+	private int writerCode(String writer) {
+		if (writer == null) return -1;
+		Integer code = writerDictionary.get(writer);
+		if (code == null) {
+			code = writerNames.size();
+			writerNames.add(writer);
+			writerDictionary.put(writer, code);
+		}
+		return code;
+	}
+
+	// ID 가 bound 보다 작은(descending) / 큰(ascending) 것 중 가까운 순으로 최대 n 개
+	private long[] nextChunk(long bound, boolean descending, int n) {
+		lock.readLock().lock();
+		try {
+			int pos = Arrays.binarySearch(ids, 0, count, bound);
+			long[] chunk;
+			if (descending) {
+				int start = (pos >= 0) ? pos - 1 : -(pos + 1) - 1;
+				int size = Math.max(0, Math.min(n, start + 1));
+				chunk = new long[size];
+				for (int i = 0; i < size; i++) chunk[i] = ids[start - i];
+			} else {
+				int start = (pos >= 0) ? pos + 1 : -(pos + 1);
+				int size = Math.max(0, Math.min(n, count - start));
+				chunk = new long[size];
+				System.arraycopy(ids, start, chunk, 0, size);
+			}
+			return chunk;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// ---- 배열 슬롯 관리 ----
+
+	private void insertSlot(int pos) {
+		if (count == ids.length) {
+			grow(ids.length * 2);
+		}
+		int moved = count - pos;
+		if (moved > 0) {
+			System.arraycopy(ids, pos, ids, pos + 1, moved);
+			System.arraycopy(createdAt, pos, createdAt, pos + 1, moved);
+			System.arraycopy(updatedAt, pos, updatedAt, pos + 1, moved);
+			System.arraycopy(lastModified, pos, lastModified, pos + 1, moved);
+			System.arraycopy(lengths, pos, lengths, pos + 1, moved);
+			System.arraycopy(revisions, pos, revisions, pos + 1, moved);
+			System.arraycopy(versions, pos, versions, pos + 1, moved);
+			System.arraycopy(writerCodes, pos, writerCodes, pos + 1, moved);
+			System.arraycopy(titleOffsets, pos, titleOffsets, pos + 1, moved);
+			System.arraycopy(titleLengths, pos, titleLengths, pos + 1, moved);
+		}
+		titleLengths[pos] = -1;
+		count++;
+	}
+
+	private void removeSlot(int pos) {
+		int moved = count - pos - 1;
+		if (moved > 0) {
+			System.arraycopy(ids, pos + 1, ids, pos, moved);
+			System.arraycopy(createdAt, pos + 1, createdAt, pos, moved);
+			System.arraycopy(updatedAt, pos + 1, updatedAt, pos, moved);
+			System.arraycopy(lastModified, pos + 1, lastModified, pos, moved);
+			System.arraycopy(lengths, pos + 1, lengths, pos, moved);
+			System.arraycopy(revisions, pos + 1, revisions, pos, moved);
+			System.arraycopy(versions, pos + 1, versions, pos, moved);
+			System.arraycopy(writerCodes, pos + 1, writerCodes, pos, moved);
+			System.arraycopy(titleOffsets, pos + 1, titleOffsets, pos, moved);
+			System.arraycopy(titleLengths, pos + 1, titleLengths, pos, moved);
+		}
+		count--;
+	}
+
+	private void grow(int capacity) {
+		ids = Arrays.copyOf(ids, capacity);
+		createdAt = Arrays.copyOf(createdAt, capacity);
+		updatedAt = Arrays.copyOf(updatedAt, capacity);
+		lastModified = Arrays.copyOf(lastModified, capacity);
+		lengths = Arrays.copyOf(lengths, capacity);
+		revisions = Arrays.copyOf(revisions, capacity);
+		versions = Arrays.copyOf(versions, capacity);
+		writerCodes = Arrays.copyOf(writerCodes, capacity);
+		titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+		titleLengths = Arrays.copyOf(titleLengths, capacity);
+	}
+
+	// ---- 제목 (off-heap) ----
+
+	// 제목 길이 -1 = null
+	private void storeTitle(int pos, byte[] title) {
+		if (title == null) {
+			titleLengths[pos] = -1;
+			return;
+		}
+		ensureTitleCapacity(title.length);
+		titleBytes.put(titleBytesUsed, title);
+		titleOffsets[pos] = titleBytesUsed;
+		titleLengths[pos] = title.length;
+		titleBytesUsed += title.length;
+	}
+
+	private String readTitle(int pos) {
+		int length = titleLengths[pos];
+		if (length < 0) return null;
+		byte[] bytes = new byte[length];
+		titleBytes.get(titleOffsets[pos], bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// 공간이 모자라면: 절반 이상이 garbage 면 압축, 아니면 두 배로 확장
+	/* - 새 크기는 실제로 옮길 제목 바이트(live) + 이번에 넣을 길이로 계산
+	 *   (garbage 집계와 어긋나도 put 에서 IndexOutOfBounds 가 나지 않도록)
+	 */
+	private void ensureTitleCapacity(int needed) {
+		if (titleBytesUsed + needed <= titleBytes.capacity()) return;
+
+		int live = 0;
+		for (int pos = 0; pos < count; pos++) {
+			if (titleLengths[pos] > 0) live += titleLengths[pos];
+		}
+		int garbage = titleBytesUsed - live;
+		int capacity = titleBytes.capacity();
+		if (garbage < live) {
+			capacity *= 2;
+		}
+		while (capacity < live + needed) {
+			capacity *= 2;
+		}
+
+		ByteBuffer compacted = ByteBuffer.allocateDirect(capacity);
+		int used = 0;
+		for (int pos = 0; pos < count; pos++) {
+			int length = titleLengths[pos];
+			if (length <= 0) continue;
+			byte[] bytes = new byte[length];
+			titleBytes.get(titleOffsets[pos], bytes);
+			compacted.put(used, bytes);
+			titleOffsets[pos] = used;
+			used += length;
+		}
+		titleBytes = compacted;
+		titleBytesUsed = used;
+	}
+
+	// 읽기 락을 ITERATION_CHUNK 개씩만 잡고 순회 (마지막으로 준 ID 다음부터 이어서)
+	private final class ChunkIterator implements Iterator<Long> {
+		private final boolean descending;
+		private long[] chunk = new long[0];
+		private int index;
+		private long bound;
+		private boolean exhausted;
+
+		ChunkIterator(boolean descending) {
+			this.descending = descending;
+			this.bound = descending ? Long.MAX_VALUE : Long.MIN_VALUE;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (index < chunk.length) return true;
+			if (exhausted) return false;
+			chunk = nextChunk(bound, descending, ITERATION_CHUNK);
+			index = 0;
+			if (chunk.length < ITERATION_CHUNK) exhausted = true;
+			return chunk.length > 0;
+		}
+
+		@Override
+		public Long next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			long id = chunk[index++];
+			bound = id;
+			return id;
+		}
+	}
+}
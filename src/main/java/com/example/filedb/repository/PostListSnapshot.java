@@ -0,0 +1,64 @@
+package com.example.filedb.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 게시글 ID 목록의 불변 스냅샷 (MVCC 읽기용)
+/*
+ * - PostIndex 는 ID 집합이 바뀔 때마다(저장으로 새 글 추가 / 삭제) 새 스냅샷을 만들어 volatile 로 발행
+ * - 읽는 쪽은 참조 하나만 가져가므로 락 없이 읽고, 그 뒤에 저장/삭제가 있어도 내용이 바뀌지 않음
+ * - 끝에 추가(새 글)만 있을 때는 이전 스냅샷과 같은 배열을 공유하고 길이만 늘림 (이전 스냅샷 범위는 건드리지 않음)
+ * - 검색 결과(SearchResultCache 의 불변 ID 배열)도 같은 형태로 감싸서 페이지 스냅샷으로 씀
+ */
+public final class PostListSnapshot {
+
+	static final PostListSnapshot EMPTY = new PostListSnapshot(0L, new long[0], 0, true);
+
+	private final long version;
+	private final long[] ids;
+	private final int length;
+	private final boolean ascending; // true: ids 가 오름차순 (인덱스), false: 이미 최신 글 순 (검색 결과)
+
+	PostListSnapshot(long version, long[] ids, int length, boolean ascending) {
+		this.version = version;
+		this.ids = ids;
+		this.length = length;
+		this.ascending = ascending;
+	}
+
+	// 이미 최신 글 순으로 정렬된 불변 ID 배열을 스냅샷으로 감쌈 (배열을 복사하지 않음)
+	public static PostListSnapshot ofDescending(long[] ids) {
+		return new PostListSnapshot(0L, ids, ids.length, false);
+	}
+
+	// 인덱스 스냅샷 버전 (ID 집합이 바뀔 때마다 증가)
+	public long version() {
+		return version;
+	}
+
+	public int size() {
+		return length;
+	}
+
+	// offset 부터 limit 개의 ID (최신 글 순)
+	public List<Long> page(long offset, int limit) {
+		if (offset < 0 || offset >= length || limit <= 0) return List.of();
+		int from = (int) offset;
+		int to = (int) Math.min((long) length, offset + limit);
+		List<Long> result = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			result.add(ascending ? ids[length - 1 - i] : ids[i]);
+		}
+		return result;
+	}
+
+	// 같은 배열 + 같은 길이를 보는 스냅샷인지 (토큰 재사용 판단용)
+	public boolean sameView(PostListSnapshot other) {
+		return other != null && ids == other.ids && length == other.length && ascending == other.ascending;
+	}
+
+	// sameView 와 짝이 맞는 해시
+	public int viewHash() {
+		return System.identityHashCode(ids) * 31 + length;
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.filedb.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 인메모리 인덱스(PostIndex)에서 게시글 한 건의 메타데이터를 꺼낸 값
+/*
+ * - PostIndex 는 컬럼(배열) 형태로 저장하고, 조회할 때만 이 객체를 만들어 돌려줌
+ * - content 는 크기가 크므로 올리지 않음
+ * - lastModified / length 는 파일이 외부에서 바뀌었는지 판단하는 스탬프
+ */
+@Getter
+@AllArgsConstructor
+public class PostMeta {
+	private final long id;
+	private final String title;
+	private final String writer;
+	private final long createdAt;    // epoch millis
+	private final long updatedAt;    // epoch millis
+	private final long lastModified; // 파일 수정 시각 (mtime)
+	private final long length;       // 파일 크기
+	private final long revision;     // 인덱스에 반영될 때마다 증가하는 값
+	private final long version;      // 게시글 버전 (PostDto.version, 수정할 때마다 1 씩 증가)
+
+	// 게시글 버전 키: 내용이 바뀌면(저장/외부 수정) 반드시 달라지는 값
+	public String versionKey() {
+		return revision + ":" + lastModified + ":" + length;
+	}
+
+	// "2024-01-01T10:00:00.123" (ISO_LOCAL_DATE_TIME) -> epoch millis, 형식이 다르면 0
+	public static long toEpochMillis(String dateTime) {
+		if (dateTime == null || dateTime.isBlank()) return 0L;
+		try {
+			return LocalDateTime.parse(dateTime).toInstant(ZoneOffset.UTC).toEpochMilli();
+		} catch (Exception e) {
+			return 0L;
+		}
+	}
+}
@@ -0,0 +1,294 @@
+package com.example.filedb.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// 보조 인덱스: (그룹, 시각, ID) 오름차순으로 정렬된 항목을 고정 크기 블록에 나눠 담음
+/*
+ * - 그룹은 작성자 사전 코드 (전체 대상 인덱스는 항상 0)
+ * - 같은 그룹 안에서 [from, to] 시각 범위는 전체 순서상 연속 구간이므로
+ *   이진 탐색 두 번으로 개수를 구하고, 페이지는 구간 끝에서부터 잘라냄 (페이지 크기에 비례)
+ * - 추가/삭제는 블록 하나 안에서만 당기고 밀기 -> 항목 수와 무관 (가득 찬 블록은 반으로 나눔)
+ *   (배열 하나였을 때는 작성자별 인덱스처럼 중간에 끼는 추가마다 전체를 밀어서 대량 반영이 O(n^2))
+ * - 전체 순서상 위치(개수, offset)는 블록 크기의 누적합(Fenwick 트리)으로 구함 (블록 수의 log)
+ *   추가/삭제는 트리의 해당 블록 값만 고치고, 블록이 나뉘거나 없어질 때만 트리를 다시 만듦
+ * - PostIndex 의 쓰기 락 안에서만 수정됨
+ */
+class TimeIndex {
+
+	// 블록 하나의 최대 항목 수, 한 번에 채울 때(load) 블록당 항목 수
+	private static final int BLOCK_SIZE = 512;
+	private static final int LOAD_FILL = BLOCK_SIZE * 3 / 4;
+
+	private static final class Block {
+		int size;
+		final int[] groups = new int[BLOCK_SIZE];
+		final long[] times = new long[BLOCK_SIZE];
+		final long[] ids = new long[BLOCK_SIZE];
+
+		int compareAt(int pos, int group, long time, long id) {
+			int cmp = Integer.compare(groups[pos], group);
+			if (cmp == 0) cmp = Long.compare(times[pos], time);
+			if (cmp == 0) cmp = Long.compare(ids[pos], id);
+			return cmp;
+		}
+
+		// (group, time, id) 이진 탐색 (없으면 -(삽입 위치) - 1)
+		int search(int group, long time, long id) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = compareAt(mid, group, time, id);
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		void insert(int pos, int group, long time, long id) {
+			int moved = size - pos;
+			if (moved > 0) {
+				System.arraycopy(groups, pos, groups, pos + 1, moved);
+				System.arraycopy(times, pos, times, pos + 1, moved);
+				System.arraycopy(ids, pos, ids, pos + 1, moved);
+			}
+			groups[pos] = group;
+			times[pos] = time;
+			ids[pos] = id;
+			size++;
+		}
+
+		void remove(int pos) {
+			int moved = size - pos - 1;
+			if (moved > 0) {
+				System.arraycopy(groups, pos + 1, groups, pos, moved);
+				System.arraycopy(times, pos + 1, times, pos, moved);
+				System.arraycopy(ids, pos + 1, ids, pos, moved);
+			}
+			size--;
+		}
+
+		// 뒤쪽 절반을 새 블록으로 옮김
+		Block splitHalf() {
+			Block right = new Block();
+			int half = size / 2;
+			right.size = size - half;
+			System.arraycopy(groups, half, right.groups, 0, right.size);
+			System.arraycopy(times, half, right.times, 0, right.size);
+			System.arraycopy(ids, half, right.ids, 0, right.size);
+			size = half;
+			return right;
+		}
+	}
+
+	private int count;
+	private Block[] blocks = new Block[16];
+	private int blockCount;
+
+	// 블록 크기의 Fenwick 트리 (1부터, sizeTree[i] 는 블록 (i - lowbit(i), i] 크기 합)
+	private int[] sizeTree = new int[17];
+
+	void add(int group, long time, long id) {
+		if (blockCount == 0) {
+			insertBlock(0, new Block());
+		}
+		int b = findBlock(group, time, id);
+		Block block = blocks[b];
+		int pos = block.search(group, time, id);
+		if (pos >= 0) return;
+		pos = -(pos + 1);
+		if (block.size == BLOCK_SIZE) {
+			Block right = block.splitHalf();
+			insertBlock(b + 1, right);
+			if (pos > block.size) {
+				pos -= block.size;
+				block = right;
+				b++;
+			}
+		}
+		block.insert(pos, group, time, id);
+		addBlockSize(b, 1);
+		count++;
+	}
+
+	void remove(int group, long time, long id) {
+		if (blockCount == 0) return;
+		int b = findBlock(group, time, id);
+		Block block = blocks[b];
+		int pos = block.search(group, time, id);
+		if (pos < 0) return;
+		block.remove(pos);
+		addBlockSize(b, -1);
+		count--;
+		if (block.size == 0) {
+			removeBlock(b);
+		}
+	}
+
+	void clear() {
+		count = 0;
+		blocks = new Block[16];
+		blockCount = 0;
+		sizeTree = new int[17];
+	}
+
+	int size() {
+		return count;
+	}
+
+	// 스냅샷 복원 / 대량 반영 후 한 번에 채우기 (정렬 후 블록마다 LOAD_FILL 개씩 복사)
+	void load(int[] srcGroups, long[] srcTimes, long[] srcIds, int n) {
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) order[i] = i;
+		Arrays.sort(order, Comparator.<Integer>comparingInt(i -> srcGroups[i])
+				.thenComparingLong(i -> srcTimes[i])
+				.thenComparingLong(i -> srcIds[i]));
+
+		clear();
+		blocks = new Block[Math.max(16, (n + LOAD_FILL - 1) / LOAD_FILL)];
+		Block block = null;
+		for (int i = 0; i < n; i++) {
+			if (block == null || block.size == LOAD_FILL) {
+				block = new Block();
+				blocks[blockCount++] = block;
+			}
+			int src = order[i];
+			block.groups[block.size] = srcGroups[src];
+			block.times[block.size] = srcTimes[src];
+			block.ids[block.size] = srcIds[src];
+			block.size++;
+		}
+		count = n;
+		rebuildSizeTree();
+	}
+
+	// group 안에서 from <= 시각 <= to 인 항목 수
+	long count(int group, long from, long to) {
+		return Math.max(0, upperBound(group, to) - lowerBound(group, from));
+	}
+
+	// group 안에서 from <= 시각 <= to 인 항목을 최근 시각 순으로 offset 부터 limit 개
+	List<Long> pageDescending(int group, long from, long to, int offset, int limit) {
+		int low = lowerBound(group, from);
+		int high = upperBound(group, to);
+		long start = (long) high - 1 - Math.max(0, offset);
+		List<Long> result = new ArrayList<>((int) Math.max(0, Math.min(limit, start - low + 1)));
+		if (start < low || limit <= 0) return result;
+
+		// start 가 들어 있는 블록부터 거꾸로
+		int b = blockAt((int) start);
+		int pos = (int) start - blocksBefore(b);
+		for (long global = start; global >= low && result.size() < limit; global--) {
+			result.add(blocks[b].ids[pos]);
+			if (--pos < 0 && --b >= 0) {
+				pos = blocks[b].size - 1;
+			}
+		}
+		return result;
+	}
+
+	// (group, time) 이상인 첫 위치 (전체 순서 기준)
+	private int lowerBound(int group, long time) {
+		return rank(group, time, Long.MIN_VALUE, false);
+	}
+
+	// (group, time) 보다 큰 첫 위치
+	private int upperBound(int group, long time) {
+		return rank(group, time, Long.MAX_VALUE, true);
+	}
+
+	// (group, time, id) 의 전체 순서상 위치 (afterEqual 이면 같은 항목 다음 위치)
+	private int rank(int group, long time, long id, boolean afterEqual) {
+		if (blockCount == 0) return 0;
+		int b = findBlock(group, time, id);
+		int pos = blocks[b].search(group, time, id);
+		pos = (pos >= 0) ? (afterEqual ? pos + 1 : pos) : -(pos + 1);
+		return blocksBefore(b) + pos;
+	}
+
+	// (group, time, id) 가 들어갈 블록: 마지막 항목이 key 이상인 첫 블록 (없으면 마지막 블록)
+	private int findBlock(int group, long time, long id) {
+		int low = 0;
+		int high = blockCount - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			Block block = blocks[mid];
+			if (block.compareAt(block.size - 1, group, time, id) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private void insertBlock(int b, Block block) {
+		if (blockCount == blocks.length) {
+			blocks = Arrays.copyOf(blocks, blocks.length * 2);
+		}
+		System.arraycopy(blocks, b, blocks, b + 1, blockCount - b);
+		blocks[b] = block;
+		blockCount++;
+		rebuildSizeTree();
+	}
+
+	private void removeBlock(int b) {
+		System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1);
+		blocks[--blockCount] = null;
+		rebuildSizeTree();
+	}
+
+
+	// ===== 블록 크기 누적합 =====
+
+	// 블록 번호가 바뀌었을 때 (나누기/삭제/적재) 현재 블록 크기로 다시 만듦
+	private void rebuildSizeTree() {
+		if (sizeTree.length < blocks.length + 1) {
+			sizeTree = new int[blocks.length + 1];
+		} else {
+			Arrays.fill(sizeTree, 0);
+		}
+		for (int i = 1; i <= blockCount; i++) {
+			sizeTree[i] += blocks[i - 1].size;
+			int parent = i + (i & -i);
+			if (parent <= blockCount) sizeTree[parent] += sizeTree[i];
+		}
+	}
+
+	private void addBlockSize(int b, int delta) {
+		for (int i = b + 1; i <= blockCount; i += i & -i) {
+			sizeTree[i] += delta;
+		}
+	}
+
+	// 0 ~ b-1 번 블록의 항목 수 (= b 번 블록 첫 항목의 전체 순서상 위치)
+	private int blocksBefore(int b) {
+		int sum = 0;
+		for (int i = b; i > 0; i -= i & -i) {
+			sum += sizeTree[i];
+		}
+		return sum;
+	}
+
+	// 전체 순서상 위치 global 이 들어 있는 블록 (0 <= global < count)
+	private int blockAt(int global) {
+		int b = 0;
+		int remaining = global;
+		for (int step = Integer.highestOneBit(blockCount); step > 0; step >>= 1) {
+			int next = b + step;
+			if (next <= blockCount && sizeTree[next] <= remaining) {
+				b = next;
+				remaining -= sizeTree[next];
+			}
+		}
+		return b;
+	}
+}
@@ -0,0 +1,317 @@
+package com.example.filedb.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.dto.WriteBehindStats;
+import com.example.filedb.exception.WriteBackpressureException;
+
+// write-behind 저장 대기열
+/*
+ * - 저장/삭제 요청은 pending(게시글 ID -> 최신 상태)에 반영하고 ID 만 고정 크기 링 버퍼에 넣음
+ * - 이미 대기 중인 ID 가 다시 오면 pending 값만 바꾸고 버퍼 자리는 쓰지 않음 (같은 글 수정 합치기)
+ * - 전용 쓰기 스레드 하나가 버퍼에서 batch-size 개씩 꺼내 Flusher 로 파일에 반영
+ * - 버퍼 자리는 게시글 락을 잡기 전에 reserve 로 확보 (가득 차면 offer-timeout 동안 기다린 뒤 WriteBackpressureException)
+ *   -> 게시글 락을 쥔 채 기다리지 않으므로 대기열이 가득 차도 같은 락을 쓰는 다른 글의 조회/저장이 막히지 않음
+ * - FilePostRepository 가 조회 시 pending 을 먼저 확인하므로 아직 파일에 없는 글도 바로 보임
+ */
+class WriteBehindQueue {
+
+	// 삭제 대기 표시
+	static final PostDto TOMBSTONE = new PostDto();
+
+	// 실제 파일 반영 (FilePostRepository 가 구현)
+	interface Flusher {
+		// states[i] 가 TOMBSTONE 이면 ids[i] 삭제, 아니면 저장
+		void write(List<Long> ids, List<PostDto> states) throws Exception;
+
+		// 반영한 상태가 여전히 최신이라 pending 에서 빠질 때 (큐 락 안에서 호출)
+		void persisted(Long id, PostDto state);
+	}
+
+	private final int capacity;
+	private final int batchSize;
+	private final long offerTimeoutNanos;
+	private final Flusher flusher;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+
+	// ---- lock 으로 보호 ----
+	private final long[] ring;
+	private int head;
+	private int tail;
+	private int size;
+	private int reserved; // 확보만 하고 아직 넣지 않은 자리 (size + reserved <= capacity)
+	private final Map<Long, PostDto> pending = new HashMap<>();
+	private boolean running = true;
+
+	private long enqueued;
+	private long coalesced;
+	private long rejected;
+	private long flushedBatches;
+	private long flushedPosts;
+	private long failedFlushes;
+	private long lastFlushNanos;
+	private long maxFlushNanos;
+	private long totalFlushNanos;
+	// ----
+
+	private Thread worker;
+
+	// reserve 로 확보한 자리 (enqueue 에서 쓰거나 release 로 반납)
+	static final class Slot {
+		private boolean reserved;
+	}
+
+	WriteBehindQueue(int capacity, int batchSize, long offerTimeoutMillis, Flusher flusher) {
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+		this.flusher = flusher;
+		this.ring = new long[capacity];
+	}
+
+	void start() {
+		worker = new Thread(this::run, "filedb-write-behind");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	// 남은 대기분을 모두 반영하고 종료 (최대 timeoutMillis 대기)
+	void stop(long timeoutMillis) {
+		lock.lock();
+		try {
+			running = false;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			worker.join(timeoutMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		int left = pendingCount();
+		if (left > 0) {
+			System.err.println("[WriteBehindQueue] 종료 시 반영하지 못한 게시글 수: " + left);
+		}
+	}
+
+	// 1. 버퍼 자리 확보 (게시글 락을 잡기 전에 호출, 가득 차면 offer-timeout 동안 대기 후 거절)
+	/* - 이미 대기 중인 ID 면 합쳐질 것이므로 자리를 잡지 않음
+	 */
+	Slot reserve(Long id) {
+		Slot slot = new Slot();
+		lock.lock();
+		try {
+			if (!running) {
+				throw new IllegalStateException("write-behind 대기열이 종료되었습니다.");
+			}
+			long nanos = offerTimeoutNanos;
+			while (!pending.containsKey(id) && size + reserved >= capacity) {
+				if (nanos <= 0) {
+					rejected++;
+					throw new WriteBackpressureException();
+				}
+				try {
+					nanos = notFull.awaitNanos(nanos);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					rejected++;
+					throw new WriteBackpressureException();
+				}
+			}
+			if (!pending.containsKey(id)) {
+				reserved++;
+				slot.reserved = true;
+			}
+			return slot;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 2. 저장/삭제 요청 등록 (게시글 락 안에서 호출, 기다리지 않음)
+	/* - 대기 중인 ID 면 pending 값만 바꿈 (확보한 자리는 반납)
+	 * - 자리를 잡지 않았는데 그 사이 반영되어 pending 에서 빠졌으면 남은 자리가 있을 때만 넣고, 없으면 거절
+	 */
+	void enqueue(Long id, PostDto state, Slot slot) {
+		lock.lock();
+		try {
+			if (!running) {
+				throw new IllegalStateException("write-behind 대기열이 종료되었습니다.");
+			}
+			if (pending.containsKey(id)) {
+				pending.put(id, state);
+				coalesced++;
+				release(slot);
+				return;
+			}
+			if (slot.reserved) {
+				slot.reserved = false;
+				reserved--;
+			} else if (size + reserved >= capacity) {
+				rejected++;
+				throw new WriteBackpressureException();
+			}
+
+			pending.put(id, state);
+			ring[tail] = id;
+			tail = (tail + 1) % capacity;
+			size++;
+			enqueued++;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 3. 쓰지 않은 자리 반납 (저장이 버전 충돌 등으로 실패했을 때, 이미 썼으면 아무것도 안 함)
+	void release(Slot slot) {
+		lock.lock();
+		try {
+			if (slot.reserved) {
+				slot.reserved = false;
+				reserved--;
+				notFull.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// 아직 파일에 반영되지 않은 최신 상태 (없으면 null, 삭제 대기면 TOMBSTONE)
+	PostDto lookup(Long id) {
+		lock.lock();
+		try {
+			return pending.get(id);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	boolean isPending(Long id) {
+		return lookup(id) != null;
+	}
+
+	WriteBehindStats stats() {
+		lock.lock();
+		try {
+			double toMillis = 1_000_000.0;
+			return new WriteBehindStats(
+					true,
+					capacity,
+					size,
+					pending.size(),
+					enqueued,
+					coalesced,
+					rejected,
+					flushedBatches,
+					flushedPosts,
+					failedFlushes,
+					lastFlushNanos / toMillis,
+					flushedBatches == 0 ? 0.0 : totalFlushNanos / toMillis / flushedBatches,
+					maxFlushNanos / toMillis);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private int pendingCount() {
+		lock.lock();
+		try {
+			return pending.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+
+	// ===== 쓰기 스레드 =====
+
+	private void run() {
+		// 반영하는 동안 다시 바뀐 글은 다음 배치에서 한 번 더 반영
+		List<Long> carry = new ArrayList<>();
+
+		while (true) {
+			List<Long> ids = new ArrayList<>(batchSize);
+			List<PostDto> states = new ArrayList<>(batchSize);
+
+			lock.lock();
+			try {
+				while (size == 0 && carry.isEmpty()) {
+					if (!running) return;
+					notEmpty.awaitUninterruptibly();
+				}
+				ids.addAll(carry);
+				carry.clear();
+				while (size > 0 && ids.size() < batchSize) {
+					ids.add(ring[head]);
+					head = (head + 1) % capacity;
+					size--;
+				}
+				for (Long id : ids) {
+					states.add(pending.get(id));
+				}
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+
+			long start = System.nanoTime();
+			boolean failed = false;
+			try {
+				flusher.write(ids, states);
+			} catch (Exception e) {
+				failed = true;
+				System.err.println("[WriteBehindQueue] 파일 반영 실패, 재시도 예정: " + e.getMessage());
+			}
+			long elapsed = System.nanoTime() - start;
+
+			lock.lock();
+			try {
+				if (failed) {
+					failedFlushes++;
+					carry.addAll(ids);
+				} else {
+					flushedBatches++;
+					lastFlushNanos = elapsed;
+					totalFlushNanos += elapsed;
+					maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+					for (int i = 0; i < ids.size(); i++) {
+						Long id = ids.get(i);
+						PostDto state = states.get(i);
+						if (pending.get(id) == state) {
+							pending.remove(id);
+							flushedPosts++;
+							flusher.persisted(id, state);
+						} else {
+							carry.add(id);
+						}
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+
+			if (failed) {
+				// 디스크 오류 등으로 계속 실패할 때 바로 재시도하지 않도록 잠시 쉼
+				try {
+					Thread.sleep(1000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+}
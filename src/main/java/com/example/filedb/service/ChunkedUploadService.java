@@ -0,0 +1,383 @@
+package com.example.filedb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.ChunkedUploadStatus;
+import com.example.filedb.exception.UploadIncompleteException;
+import com.example.filedb.exception.UploadLimitExceededException;
+import com.example.filedb.exception.UploadNotFoundException;
+import com.example.filedb.repository.EditorImageIndex;
+
+import lombok.RequiredArgsConstructor;
+
+// 에디터 이미지 분할(이어받기) 업로드
+/*
+ * 1. init     : 전체 크기만큼 임시 파일을 미리 잡아 두고 업로드 ID 발급
+ * 2. 조각 전송 : 요청 본문을 메모리에 모으지 않고 바로 FileChannel 의 해당 위치(offset)에 씀
+ *               - 위치 지정 쓰기라 여러 조각을 동시에 받아도 서로 간섭하지 않음
+ *               - 받은 구간은 [시작, 끝) 목록으로 관리 (연결이 끊기면 그때까지 쓴 부분도 기록)
+ *               -> 끊긴 뒤에는 상태 조회로 빠진 구간만 다시 보내면 됨
+ * 3. complete : 모든 구간을 받았으면 uploads/editor 로 옮기고 URL 반환 (multipart 업로드와 같은 응답)
+ * - 임시 파일은 {base-path}/upload-partial 에 둠 (/images/** 로 노출되는 업로드 폴더 밖)
+ * - 업로드 상태는 메모리에만 있으므로 재기동하면 진행 중이던 업로드는 처음부터 다시 (임시 파일은 기동 시 정리)
+ * - stale-after-ms 동안 조각이 오지 않은 업로드는 주기적으로 정리
+ * - 업로드마다 파일 핸들과 최대 max-size 의 임시 파일을 잡으므로 동시에 진행할 수 있는 업로드 수를 제한 (넘으면 503)
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private final PostService postService;
+    private final EditorImageIndex editorImageIndex;
+
+    @Value("${filedb.base-path}")
+    private String basePath;
+
+    // 한 파일의 최대 크기
+    @Value("${filedb.chunked-upload.max-size:524288000}")
+    private long maxSize;
+
+    // 권장 조각 크기 (init 응답으로 알려줌)
+    @Value("${filedb.chunked-upload.chunk-size:4194304}")
+    private long chunkSize;
+
+    // 이 시간 동안 조각이 오지 않으면 정리
+    @Value("${filedb.chunked-upload.stale-after-ms:3600000}")
+    private long staleAfterMs;
+
+    // 정리 작업 실행 간격
+    @Value("${filedb.chunked-upload.cleanup-interval-ms:300000}")
+    private long cleanupIntervalMs;
+
+    // 동시에 진행할 수 있는 최대 업로드 수
+    @Value("${filedb.chunked-upload.max-concurrent:64}")
+    private int maxConcurrent;
+
+    private static final String PARTIAL_DIR_NAME = "upload-partial";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // 파일명 확장자 (저장 파일명에 그대로 붙으므로 영문/숫자만)
+    private static final Pattern EXTENSION = Pattern.compile("[A-Za-z0-9]{1,10}");
+
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger uploadCount = new AtomicInteger();
+    private ScheduledExecutorService cleaner;
+
+    // 진행 중인 업로드 하나 (ranges / writers / closed 는 이 객체를 락으로 사용)
+    static final class Upload {
+        final String id;
+        final String filename;
+        final long size;
+        final Path path;
+        final FileChannel channel;
+        final TreeMap<Long, Long> ranges = new TreeMap<>(); // 받은 구간 시작 -> 끝 (겹치지 않게 합쳐 둠)
+        long received;
+        int writers;            // 쓰고 있는 조각 수
+        boolean closed;         // 완료/취소/만료 -> 더 이상 쓰지 않음
+        volatile long lastActivity;
+
+        Upload(String id, String filename, long size, Path path, FileChannel channel) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.path = path;
+            this.channel = channel;
+            this.lastActivity = System.currentTimeMillis();
+        }
+
+        // [start, end) 구간 추가 (이웃/겹치는 구간과 합침)
+        void addRange(long start, long end) {
+            if (end <= start) return;
+            Map.Entry<Long, Long> before = ranges.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+                next = ranges.ceilingEntry(start);
+            }
+            ranges.put(start, end);
+
+            received = 0;
+            for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+                received += range.getValue() - range.getKey();
+            }
+        }
+
+        boolean isComplete() {
+            return ranges.size() == 1 && ranges.firstKey() == 0 && ranges.firstEntry().getValue() == size;
+        }
+    }
+
+
+    // 기동 시 이전 실행에서 남은 임시 파일 정리 + 주기적 만료 정리 시작
+    @PostConstruct
+    public void start() {
+        Path dir = getPartialDir();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                System.err.println("[ChunkedUploadService] 임시 파일 정리 실패: " + e.getMessage());
+            }
+        }
+
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "filedb-upload-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::cleanupStale, cleanupIntervalMs, cleanupIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+        for (Upload upload : uploads.values()) {
+            discard(upload);
+        }
+    }
+
+
+    // 1. 업로드 시작: 전체 크기만큼 임시 파일을 잡아 두고 업로드 ID 발급
+    public ChunkedUploadStatus init(String filename, long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("업로드할 파일 크기가 올바르지 않습니다.");
+        }
+        if (size > maxSize) {
+            throw new IllegalArgumentException("파일이 너무 큽니다. 최대 " + maxSize + " bytes");
+        }
+        int dot = (filename == null) ? -1 : filename.lastIndexOf('.');
+        if (dot >= 0 && !EXTENSION.matcher(filename.substring(dot + 1)).matches()) {
+            throw new IllegalArgumentException("파일 확장자가 올바르지 않습니다: " + filename);
+        }
+        if (uploadCount.incrementAndGet() > maxConcurrent) {
+            uploadCount.decrementAndGet();
+            throw new UploadLimitExceededException();
+        }
+
+        String id = UUID.randomUUID().toString().replace("-", "");
+        Path path = getPartialDir().resolve(id + ".part");
+        try {
+            Files.createDirectories(path.getParent());
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                // 파일 길이를 미리 늘려 둠 -> 조각이 어떤 순서로 와도 해당 위치에 바로 씀
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            } catch (IOException e) {
+                channel.close();
+                Files.deleteIfExists(path);
+                throw e;
+            }
+            Upload upload = new Upload(id, filename, size, path, channel);
+            uploads.put(id, upload);
+            return toStatus(upload);
+        } catch (IOException e) {
+            uploadCount.decrementAndGet();
+            throw new RuntimeException("업로드 임시 파일 생성 실패", e);
+        }
+    }
+
+
+    // 2. 조각 받기: 본문을 offset 위치부터 그대로 파일에 씀
+    /* - 다른 조각과 동시에 와도 됨 (FileChannel 위치 지정 쓰기)
+     * - 전체 크기를 넘는 본문이면 400
+     * - 중간에 연결이 끊겨도 그때까지 쓴 부분은 받은 구간으로 남김
+     */
+    public ChunkedUploadStatus writeChunk(String uploadId, long offset, long contentLength, InputStream body) {
+        Upload upload = getUpload(uploadId);
+        if (offset < 0 || offset >= upload.size) {
+            throw new IllegalArgumentException("offset 이 파일 범위를 벗어났습니다: " + offset);
+        }
+        if (contentLength > upload.size - offset) {
+            throw new IllegalArgumentException("조각이 파일 크기를 넘습니다: offset=" + offset + ", length=" + contentLength);
+        }
+
+        synchronized (upload) {
+            if (upload.closed) throw new UploadNotFoundException(uploadId);
+            upload.writers++;
+        }
+        long limit = upload.size - offset;
+        long written = 0;
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            byte[] array = buffer.array();
+            int n;
+            while ((n = body.read(array, 0, COPY_BUFFER_SIZE)) > 0) {
+                if (written + n > limit) {
+                    throw new IllegalArgumentException("조각이 파일 크기를 넘습니다: offset=" + offset);
+                }
+                buffer.clear().limit(n);
+                while (buffer.hasRemaining()) {
+                    written += upload.channel.write(buffer, offset + written);
+                }
+                upload.lastActivity = System.currentTimeMillis();
+            }
+        } catch (ClosedChannelException e) {
+            // 전송 중에 취소/만료됨
+            throw new UploadNotFoundException(uploadId);
+        } catch (IOException e) {
+            throw new RuntimeException("조각 저장 실패 (받은 부분까지는 유지): uploadId=" + uploadId, e);
+        } finally {
+            synchronized (upload) {
+                upload.addRange(offset, offset + written);
+                upload.writers--;
+                upload.lastActivity = System.currentTimeMillis();
+            }
+        }
+        return status(uploadId);
+    }
+
+
+    // 3. 상태 조회 (받은 구간 -> 이어서 보낼 구간 계산용)
+    public ChunkedUploadStatus status(String uploadId) {
+        return toStatus(getUpload(uploadId));
+    }
+
+
+    // 4. 완료: 모든 구간을 받았으면 에디터 이미지 폴더로 옮기고 URL 반환
+    public String complete(String uploadId) {
+        Upload upload = getUpload(uploadId);
+        synchronized (upload) {
+            if (upload.closed) throw new UploadNotFoundException(uploadId);
+            if (upload.writers > 0) {
+                throw new UploadIncompleteException("아직 전송 중인 조각이 있습니다. uploadId=" + uploadId);
+            }
+            if (!upload.isComplete()) {
+                throw new UploadIncompleteException("받지 못한 구간이 있습니다. 받은 크기=" + upload.received + "/" + upload.size);
+            }
+            upload.closed = true;
+        }
+        unregister(upload);
+
+        try {
+            upload.channel.force(true);
+            upload.channel.close();
+
+            Path dir = editorImageIndex.getEditorDir().toPath().toAbsolutePath();
+            Files.createDirectories(dir);
+            String savedFilename = postService.newEditorImageFilename(upload.filename);
+            Files.move(upload.path, dir.resolve(savedFilename));
+
+            editorImageIndex.add(savedFilename);
+            return postService.editorImageUrl(savedFilename);
+        } catch (IOException e) {
+            discard(upload);
+            throw new RuntimeException("에디터 이미지 저장 중 오류 발생", e);
+        }
+    }
+
+
+    // 5. 취소: 임시 파일 삭제
+    public void abort(String uploadId) {
+        Upload upload = getUpload(uploadId);
+        synchronized (upload) {
+            upload.closed = true;
+        }
+        unregister(upload);
+        discard(upload);
+    }
+
+
+    // 오래 조각이 오지 않은 업로드 정리 (전송 중인 조각이 있으면 건너뜀)
+    private void cleanupStale() {
+        long deadline = System.currentTimeMillis() - staleAfterMs;
+        for (Upload upload : uploads.values()) {
+            if (upload.lastActivity >= deadline) continue;
+            synchronized (upload) {
+                if (upload.closed || upload.writers > 0) continue;
+                upload.closed = true;
+            }
+            unregister(upload);
+            discard(upload);
+        }
+    }
+
+    // 진행 중 목록에서 빼고 자리 반납 (이미 빠졌으면 무시)
+    private void unregister(Upload upload) {
+        if (uploads.remove(upload.id, upload)) {
+            uploadCount.decrementAndGet();
+        }
+    }
+
+    // 진행 중인 업로드 수
+    public int uploadCount() {
+        return uploadCount.get();
+    }
+
+    // 임시 파일 닫고 삭제 (완료 전에 닫힌 업로드)
+    private void discard(Upload upload) {
+        try {
+            upload.channel.close();
+            Files.deleteIfExists(upload.path);
+        } catch (IOException e) {
+            System.err.println("[ChunkedUploadService] 임시 파일 삭제 실패: " + upload.path);
+        }
+    }
+
+    private Upload getUpload(String uploadId) {
+        Upload upload = (uploadId == null) ? null : uploads.get(uploadId);
+        if (upload == null) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        return upload;
+    }
+
+    private ChunkedUploadStatus toStatus(Upload upload) {
+        List<long[]> ranges = new ArrayList<>();
+        long received;
+        synchronized (upload) {
+            for (Map.Entry<Long, Long> range : upload.ranges.entrySet()) {
+                ranges.add(new long[] { range.getKey(), range.getValue() });
+            }
+            received = upload.received;
+        }
+        return new ChunkedUploadStatus(
+                upload.id,
+                upload.filename,
+                upload.size,
+                chunkSize,
+                received,
+                ranges,
+                upload.lastActivity + staleAfterMs);
+    }
+
+    // 임시 파일 폴더 ({base-path}/upload-partial)
+    private Path getPartialDir() {
+        return Paths.get(basePath, PARTIAL_DIR_NAME);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.filedb.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import jakarta.annotation.PreDestroy;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.FlightRecordingStatus;
+import com.example.filedb.monitor.ImageGcEvent;
+import com.example.filedb.monitor.OperationTracer;
+import com.example.filedb.monitor.RepositoryOperationEvent;
+
+import lombok.RequiredArgsConstructor;
+
+// JDK Flight Recorder 녹화 시작 / 종료 (/admin/jfr)
+/*
+ * - 녹화는 한 번에 하나 (이미 녹화 중이면 start 는 상태만 반환)
+ * - JDK 기본 이벤트(GC, 모니터 대기, 파일 I/O ...)는 settings 설정 그대로, FileDB 이벤트는 event-threshold-ms 이상만 기록
+ * - stop 하면 {base-path}/recordings/filedb-yyyyMMdd-HHmmss.jfr 로 저장 -> JDK Mission Control 이나 jfr print 로 확인
+ * - 녹화 중이 아닐 때 FileDB 이벤트는 꺼져 있으므로 계측 비용이 거의 없음
+ * - /admin/jfr 를 처음 호출할 때 생성 (@Lazy)
+ */
+@Lazy
+@Service
+@RequiredArgsConstructor
+public class FlightRecordingService {
+
+    private final OperationTracer tracer;
+
+    private static final String RECORDINGS_DIR_NAME = "recordings";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${filedb.base-path}")
+    private String basePath;
+
+    // JDK 녹화 설정 이름 (default: 오버헤드 1% 내외, profile: 더 자세함)
+    @Value("${filedb.jfr.settings:default}")
+    private String settings;
+
+    // 이 시간 이상 걸린 FileDB 작업만 이벤트로 남김 (0 이면 전부)
+    @Value("${filedb.jfr.event-threshold-ms:0}")
+    private long eventThresholdMs;
+
+    // 녹화가 stop 없이 계속될 때 디스크에 남기는 최대 분량
+    @Value("${filedb.jfr.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${filedb.jfr.max-size-mb:256}")
+    private long maxSizeMb;
+
+    // 진행 중인 녹화 (없으면 null) - synchronized 로 보호
+    private Recording recording;
+    private long startedAt;
+    private Path lastFile;
+    private long lastFileBytes;
+
+
+    /**
+     * 녹화 시작 (이미 녹화 중이면 그대로 두고 상태 반환).
+     */
+    public synchronized FlightRecordingStatus start() {
+        if (recording != null) return status();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("JFR 설정을 읽을 수 없습니다: " + settings, e);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName("filedb");
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.enable(RepositoryOperationEvent.class).withThreshold(Duration.ofMillis(eventThresholdMs));
+        started.enable(ImageGcEvent.class).withThreshold(Duration.ofMillis(eventThresholdMs));
+        started.start();
+
+        recording = started;
+        startedAt = System.currentTimeMillis();
+        return status();
+    }
+
+    /**
+     * 녹화 종료 후 파일로 저장 (녹화 중이 아니면 마지막 저장 결과만 반환).
+     */
+    public synchronized FlightRecordingStatus stop() {
+        if (recording == null) return status();
+        Path dir = Paths.get(basePath, RECORDINGS_DIR_NAME);
+        Path file = dir.resolve("filedb-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        try {
+            Files.createDirectories(dir);
+            recording.stop();
+            recording.dump(file);
+            lastFile = file;
+            lastFileBytes = Files.size(file);
+        } catch (IOException e) {
+            throw new RuntimeException("JFR 녹화 저장 실패: " + file, e);
+        } finally {
+            recording.close();
+            recording = null;
+            startedAt = 0;
+        }
+        return status();
+    }
+
+    public synchronized FlightRecordingStatus status() {
+        return new FlightRecordingStatus(
+                recording != null,
+                startedAt,
+                settings,
+                eventThresholdMs,
+                lastFile != null ? lastFile.toAbsolutePath().toString() : null,
+                lastFileBytes,
+                tracer.getSlowThresholdMs(),
+                tracer.getSlowOperations());
+    }
+
+    // 종료 시 녹화 중이었으면 저장
+    @PreDestroy
+    public void shutdown() {
+        try {
+            stop();
+        } catch (RuntimeException e) {
+            System.err.println("[FlightRecordingService] 종료 시 녹화 저장 실패: " + e.getMessage());
+        }
+    }
+}
@@ -6,17 +6,22 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import com.example.filedb.dto.ImageGcResult;
 import com.example.filedb.dto.PostDto;
+import com.example.filedb.monitor.ImageGcEvent;
+import com.example.filedb.monitor.OperationTracer;
+import com.example.filedb.repository.EditorImageIndex;
 import com.example.filedb.repository.FilePostRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
+// 관리자가 정리를 요청할 때만 쓰므로 첫 요청 시 생성 (@Lazy, 기동 시간 단축)
+@Lazy
 @Service
 @RequiredArgsConstructor
 public class ImageGcService {
@@ -27,12 +32,11 @@ public class ImageGcService {
     // content 파싱용 (JSON 문자열)
     private final ObjectMapper objectMapper;
 
-    /*
-     * 업로드 베이스 경로
-     * C:/playground/projects/FileDB/uploads/editor
-     */
-    @Value("${filedb.upload-path}")
-    private String uploadDir;
+    // uploads/editor 파일 목록 인메모리 인덱스 (PostFileWatcher 가 외부 변경까지 반영)
+    private final EditorImageIndex editorImageIndex;
+
+    // 단계별 JFR 이벤트 + 느린 작업 로그 (collect / list / delete)
+    private final OperationTracer tracer;
 
     
     /*
@@ -79,14 +83,21 @@ public class ImageGcService {
      * }
      */
     private Set<String> collectReferencedImageNames() {
-        List<PostDto> posts = postRepository.findAllPosts();
-        Set<String> fileNames = new HashSet<>();
+        ImageGcEvent trace = tracer.imageGc("collect");
+        try {
+            List<PostDto> posts = postRepository.findAllPosts();
+            Set<String> fileNames = new HashSet<>();
 
-        for (PostDto post : posts) {
-            addImagesFromPostContent(post.getContent(), fileNames);
-        }
+            for (PostDto post : posts) {
+                addImagesFromPostContent(post.getContent(), fileNames);
+            }
 
-        return fileNames;
+            // files = 훑은 게시글 수
+            trace.addFiles(posts.size(), 0L);
+            return fileNames;
+        } finally {
+            tracer.end(trace);
+        }
     }
 
     
@@ -141,31 +152,23 @@ public class ImageGcService {
     
     /**
      * uploads/editor 디렉토리 아래의 모든 파일을 가져옴
-     * (하위 디렉토리는 고려하지 않고, depth 1만 스캔)
-     * C:/playground/projects/FileDB/uploads
-     * 실제 에디터 이미지는 {uploadDir}/editor 에 저장
+     * (하위 디렉토리는 고려하지 않고, depth 1만)
+     * 매번 listFiles 하지 않고 EditorImageIndex 의 파일명 집합을 사용
      */
     private List<File> findAllEditorImageFiles() {
-        // uploads/editor
-        File editorDir = new File(uploadDir, "editor");
-
-        if (!editorDir.exists() || !editorDir.isDirectory()) {
-            // 디렉토리가 없거나 디렉토리가 아니면 스캔할 게 없다고 판단
-            return List.of();
-        }
-
-        File[] files = editorDir.listFiles();
-        if (files == null || files.length == 0) {
-            return List.of();
-        }
-
-        List<File> result = new ArrayList<>();
-        for (File file : files) {
-            if (file.isFile()) {
-                result.add(file);
+        ImageGcEvent trace = tracer.imageGc("list");
+        try {
+            List<File> result = new ArrayList<>();
+            for (File file : editorImageIndex.listFiles()) {
+                if (file.isFile()) {
+                    result.add(file);
+                    trace.addFile(file);
+                }
             }
+            return result;
+        } finally {
+            tracer.end(trace);
         }
-        return result;
     }
 
     
@@ -202,14 +205,23 @@ public class ImageGcService {
 
         List<String> deletedFileNames = new ArrayList<>();
 
-        for (File file : files) {
-            boolean deleted = file.delete();
-            if (deleted) {
-                deletedFileNames.add(file.getName());
-            } else {
-                // 실패한 경우는 일단 콘솔에만 로그
-                System.err.println("[ImageGcService] 삭제 실패: " + file.getAbsolutePath());
+        ImageGcEvent trace = tracer.imageGc("delete");
+        try {
+            for (File file : files) {
+                long size = trace.isActive() ? file.length() : 0L;
+                boolean deleted = file.delete();
+                if (deleted) {
+                    deletedFileNames.add(file.getName());
+                    editorImageIndex.remove(file.getName());
+                    trace.addFile(size);
+                } else {
+                    // 실패한 경우는 일단 콘솔에만 로그
+                    System.err.println("[ImageGcService] 삭제 실패: " + file.getAbsolutePath());
+                    trace.addFailed();
+                }
             }
+        } finally {
+            tracer.end(trace);
         }
 
         return deletedFileNames;
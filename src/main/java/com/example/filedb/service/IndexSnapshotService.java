@@ -0,0 +1,216 @@
+package com.example.filedb.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.IndexStatus;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.example.filedb.repository.FilePostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 인메모리 인덱스 스냅샷(체크포인트) 관리
+/*
+ * - 게시글 수가 많으면 기동 시 전체 파일 파싱에 수 분이 걸리므로
+ *   메타데이터 인덱스(PostIndex)와 검색 색인(PostSearchIndex)을 {base-path}/index.snapshot 에 주기적으로 기록
+ * - 기동 시 스냅샷을 읽고, mtime/size 가 스냅샷과 다른 파일(= 이후 추가/수정/삭제된 것)만 다시 반영
+ * - 스냅샷이 없거나 형식 버전이 다르면 전체 스캔으로 구성
+ */
+@Service
+@RequiredArgsConstructor
+public class IndexSnapshotService {
+
+    private final FilePostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final PostSuggestIndex postSuggestIndex;
+
+    private static final String SNAPSHOT_FILE = "index.snapshot";
+    private static final int MAGIC = 0x46444249; // "FDBI"
+    private static final int FORMAT_VERSION = 3; // 2: 게시글 version 컬럼 추가, 3: 검색 색인 위치에 긴 구간 자리 포함
+
+    @Value("${filedb.base-path}")
+    private String basePath;
+
+    @Value("${filedb.snapshot.enabled:true}")
+    private boolean enabled;
+
+    // 주기적 체크포인트 간격 (변경이 없으면 건너뜀)
+    @Value("${filedb.snapshot.interval-ms:300000}")
+    private long intervalMs;
+
+    private final AtomicLong changesSinceCheckpoint = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean snapshotLoaded;
+    private volatile long indexLoadMillis;
+    private volatile long replayedChanges;
+    private volatile long timeToReadyMillis;
+    private volatile long lastCheckpointAt;
+    private volatile long lastCheckpointMillis;
+    private volatile long snapshotBytes;
+
+
+    // 기동 시 인덱스 적재
+    @PostConstruct
+    public void load() {
+        long start = System.currentTimeMillis();
+
+        // 아직 @EventListener 가 등록되기 전이라 변경분은 검색 색인에 직접 반영
+        long[] replayed = {0};
+        Consumer<PostChangedEvent> sink = event -> {
+            postSearchIndex.apply(event);
+            replayed[0]++;
+        };
+
+        snapshotLoaded = enabled && readSnapshot();
+
+        // 스냅샷을 읽었으면 바뀐 파일만, 못 읽었으면 (빈 인덱스 기준이라) 전체 파일을 반영
+        postRepository.rescan(sink);
+
+        // 자동완성은 스냅샷에 넣지 않고 적재된 인덱스의 제목으로 구성 (파일을 읽지 않음)
+        postSuggestIndex.rebuild();
+
+        replayedChanges = snapshotLoaded ? replayed[0] : 0;
+        indexLoadMillis = System.currentTimeMillis() - start;
+        // 스냅샷 이후 변경분이 있었으면 다음 체크포인트에서 기록
+        changesSinceCheckpoint.set(replayed[0]);
+
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "filedb-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::checkpointQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // JVM 시작부터 요청을 받을 수 있게 된 시점까지
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        timeToReadyMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changesSinceCheckpoint.incrementAndGet();
+    }
+
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        changesSinceCheckpoint.addAndGet(event.getPosts().size());
+    }
+
+    // 종료 시 마지막 체크포인트
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (enabled) {
+            checkpointQuietly();
+        }
+    }
+
+
+    /**
+     * 스냅샷 파일 기록 (임시 파일에 쓴 뒤 원자적으로 교체).
+     * 메타데이터와 검색 색인은 저장/삭제 반영을 잠시 막은 같은 시점으로 기록한다.
+     * (메타데이터만 새 스탬프로 기록되면 다음 기동 때 그 글을 다시 읽지 않아 검색 결과가 옛 내용으로 남음)
+     */
+    public synchronized void checkpoint() throws IOException {
+        Path snapshot = getSnapshotPath();
+        // 변경이 없거나, 게시글이 하나도 없는데 스냅샷도 없으면 기록하지 않음
+        if (changesSinceCheckpoint.get() == 0 && Files.exists(snapshot)) return;
+        if (postRepository.countPosts() == 0 && !Files.exists(snapshot)) return;
+
+        long start = System.currentTimeMillis();
+        long changesAtStart = changesSinceCheckpoint.get();
+
+        Files.createDirectories(snapshot.getParent());
+        Path temp = snapshot.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(start);
+            postRepository.writeIndexSnapshot(out, postSearchIndex::writeTo);
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        changesSinceCheckpoint.addAndGet(-changesAtStart);
+        lastCheckpointAt = start;
+        lastCheckpointMillis = System.currentTimeMillis() - start;
+        snapshotBytes = Files.size(snapshot);
+    }
+
+    public IndexStatus status() {
+        return new IndexStatus(
+                snapshotLoaded,
+                indexLoadMillis,
+                replayedChanges,
+                timeToReadyMillis,
+                lastCheckpointAt,
+                lastCheckpointMillis,
+                snapshotBytes,
+                changesSinceCheckpoint.get());
+    }
+
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            System.err.println("[IndexSnapshotService] 체크포인트 실패: " + e.getMessage());
+        }
+    }
+
+    // 스냅샷 읽기. 실패하면 읽다 만 인덱스를 비우고 false
+    private boolean readSnapshot() {
+        Path snapshot = getSnapshotPath();
+        if (!Files.isRegularFile(snapshot)) return false;
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            lastCheckpointAt = in.readLong();
+            postRepository.readIndexSnapshot(in);
+            postSearchIndex.readFrom(in);
+            snapshotBytes = Files.size(snapshot);
+            return true;
+        } catch (Exception e) {
+            System.err.println("[IndexSnapshotService] 스냅샷 복원 실패, 전체 스캔으로 구성: " + e.getMessage());
+            postRepository.clearIndex();
+            postSearchIndex.clear();
+            return false;
+        }
+    }
+
+    private Path getSnapshotPath() {
+        return Paths.get(basePath, SNAPSHOT_FILE);
+    }
+}
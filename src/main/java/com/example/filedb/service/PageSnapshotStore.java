@@ -0,0 +1,118 @@
+package com.example.filedb.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.repository.PostListSnapshot;
+
+// 페이지 스냅샷 토큰 저장소
+/*
+ * - 첫 페이지 응답에 쓴 목록 스냅샷(PostListSnapshot)을 토큰으로 보관
+ * - 다음 페이지 요청에 snapshot=토큰 을 주면 같은 버전의 ID 목록에서 잘라서, 그 사이 저장/삭제로 항목이 밀리지 않음
+ * - 스냅샷은 불변 배열 참조만 들고 있으므로 복사 비용 없음 (같은 스냅샷은 같은 토큰 재사용)
+ * - 토큰 수는 max-entries 로, 마지막 사용 후 보관 시간은 ttl-ms 로 제한 (만료되면 최신 스냅샷으로 응답)
+ * - 일관성은 ID 목록 단위까지: 게시글 내용은 스냅샷에 없으므로 페이지를 만들 때 파일에서 최신 내용을 읽음
+ *     삭제된 글 -> 그 자리를 건너뛰어 페이지가 size 보다 짧을 수 있음
+ *     수정된 글 -> 스냅샷 이후의 내용으로 보임
+ *   (빈 자리를 다음 ID 로 채우면 그 글이 다음 페이지에도 나와서 중복되므로 채우지 않음)
+ */
+@Service
+public class PageSnapshotStore {
+
+    @Value("${filedb.page-snapshot.max-entries:1024}")
+    private int maxEntries;
+
+    @Value("${filedb.page-snapshot.ttl-ms:600000}")
+    private long ttlMs;
+
+    // 재시작 전 토큰과 겹치지 않도록 기동 시각을 접두어로 사용
+    private final String prefix = Long.toString(System.currentTimeMillis(), 36);
+    private long sequence;
+
+    // 토큰 -> 스냅샷 (마지막 사용 순서, LRU)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // (조회 종류 + 스냅샷) -> 토큰 : 같은 스냅샷을 다시 고정할 때 새 토큰을 만들지 않기 위함
+    private final Map<String, String> tokensByView = new HashMap<>();
+
+    private static final class Entry {
+        final String query;
+        final String viewKey;
+        final PostListSnapshot snapshot;
+        long lastAccess;
+
+        Entry(String query, String viewKey, PostListSnapshot snapshot, long lastAccess) {
+            this.query = query;
+            this.viewKey = viewKey;
+            this.snapshot = snapshot;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+
+    /**
+     * 스냅샷을 보관하고 토큰을 반환한다.
+     * query 는 조회 종류 (목록 / 검색어) - 다른 조회의 토큰으로 잘못 읽지 않도록 함께 저장한다.
+     */
+    public synchronized String pin(String query, PostListSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        String viewKey = query + '#' + snapshot.viewHash();
+
+        String token = tokensByView.get(viewKey);
+        if (token != null) {
+            Entry entry = entries.get(token);
+            if (entry != null && entry.snapshot.sameView(snapshot)) {
+                entry.lastAccess = now;
+                return token;
+            }
+        }
+
+        token = prefix + "-" + Long.toString(++sequence, 36);
+        entries.put(token, new Entry(query, viewKey, snapshot, now));
+        tokensByView.put(viewKey, token);
+        evictIfNeeded(now);
+        return token;
+    }
+
+
+    /**
+     * 토큰에 해당하는 스냅샷 (없거나 만료됐거나 다른 조회의 토큰이면 null).
+     */
+    public synchronized PostListSnapshot get(String token, String query) {
+        if (token == null || token.isBlank()) return null;
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(token);
+        if (entry == null) return null;
+        if (now - entry.lastAccess > ttlMs) {
+            remove(token, entry);
+            return null;
+        }
+        if (!entry.query.equals(query)) return null;
+        entry.lastAccess = now;
+        return entry.snapshot;
+    }
+
+
+    // 개수 초과분 + 만료된 것 제거 (가장 오래 안 쓰인 것부터)
+    private void evictIfNeeded(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            boolean overflow = entries.size() > maxEntries;
+            boolean expired = now - eldest.getValue().lastAccess > ttlMs;
+            if (!overflow && !expired) break;
+            it.remove();
+            tokensByView.remove(eldest.getValue().viewKey, eldest.getKey());
+        }
+    }
+
+    private void remove(String token, Entry entry) {
+        entries.remove(token);
+        tokensByView.remove(entry.viewKey, token);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.filedb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.BulkImportResult;
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.repository.FilePostRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+// 게시글 대량 가져오기 / 내보내기
+/*
+ * - Jackson 스트리밍 파서/제너레이터로 한 건씩 처리해서 메모리 사용량이 게시글 수와 무관
+ * - 가져오기는 batch-size 단위로 ID 블록을 한 번에 발급받고 한 번에 저장
+ */
+@Service
+@RequiredArgsConstructor
+public class PostBulkService {
+
+    private final FilePostRepository postRepository;
+    private final ObjectMapper objectMapper;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    // 결과에 담을 실패 사유 최대 개수
+    private static final int MAX_ERRORS = 100;
+
+    // 한 번에 ID 를 발급받고 저장할 게시글 수
+    @Value("${filedb.bulk.batch-size:1000}")
+    private int batchSize;
+
+
+    /**
+     * 게시글 대량 가져오기.
+     *
+     * 입력 형식 (둘 다 지원, 첫 토큰으로 판단)
+     * - JSON 배열: [ {...}, {...} ]
+     * - NDJSON   : {...}\n{...}\n
+     *
+     * 입력의 id 는 무시하고 새 ID 를 발급한다. createdAt / updatedAt 이 있으면 그대로 유지.
+     */
+    public BulkImportResult importPosts(InputStream in) {
+        long imported = 0;
+        long failed = 0;
+        Long firstId = null;
+        Long lastId = null;
+        List<String> errors = new ArrayList<>();
+        List<PostDto> batch = new ArrayList<>(batchSize);
+        long index = 0; // 입력에서 몇 번째 게시글인지 (0부터)
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = (token == JsonToken.START_ARRAY);
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("게시글은 JSON 객체여야 합니다. (" + index + "번째)");
+                }
+                PostDto post = objectMapper.readValue(parser, PostDto.class);
+
+                String invalid = validate(post);
+                if (invalid != null) {
+                    failed++;
+                    if (errors.size() < MAX_ERRORS) {
+                        errors.add(index + "번째: " + invalid);
+                    }
+                } else {
+                    batch.add(post);
+                    if (batch.size() >= batchSize) {
+                        long[] range = flush(batch);
+                        if (firstId == null) firstId = range[0];
+                        lastId = range[1];
+                        imported += batch.size();
+                        batch.clear();
+                    }
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // 파싱 오류 -> 그때까지 정상으로 읽은 것은 저장하고 중단
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(index + "번째: JSON 파싱 오류 - " + e.getOriginalMessage());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("가져오기 입력을 읽는 중 오류 발생", e);
+        } catch (IllegalArgumentException e) {
+            failed++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(e.getMessage());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            long[] range = flush(batch);
+            if (firstId == null) firstId = range[0];
+            lastId = range[1];
+            imported += batch.size();
+        }
+
+        return BulkImportResult.of(imported, failed, firstId, lastId, errors);
+    }
+
+
+    /**
+     * 전체 게시글을 NDJSON(한 줄에 게시글 하나)으로 out 에 기록 (ID 오름차순).
+     */
+    public void exportPosts(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 루트 값 사이에 기본 구분자(공백) 대신 줄바꿈만 넣음
+            generator.setRootValueSeparator(null);
+
+            long[] count = {0};
+            try {
+                postRepository.forEachPost(post -> {
+                    try {
+                        objectMapper.writeValue(generator, post);
+                        generator.writeRaw('\n');
+                        // 주기적으로 소켓까지 밀어내서 버퍼가 쌓이지 않도록
+                        if (++count[0] % batchSize == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+
+    // 배치에 ID 블록을 발급해서 채운 뒤 저장, [첫 ID, 마지막 ID] 반환
+    private long[] flush(List<PostDto> batch) {
+        long first = postRepository.allocateIds(batch.size());
+        String now = LocalDateTime.now().format(DATE_TIME_FORMATTER);
+
+        long id = first;
+        for (PostDto post : batch) {
+            post.setId(id++);
+            if (post.getCreatedAt() == null) post.setCreatedAt(now);
+            if (post.getUpdatedAt() == null) post.setUpdatedAt(post.getCreatedAt());
+        }
+        postRepository.saveAll(batch);
+        return new long[] { first, id - 1 };
+    }
+
+
+    // PostDto 의 @NotBlank 제약과 같은 검사 (통과하면 null)
+    private String validate(PostDto post) {
+        if (post.getTitle() == null || post.getTitle().isBlank()) return "제목은 필수입니다.";
+        if (post.getContent() == null || post.getContent().isBlank()) return "내용은 필수입니다.";
+        if (post.getWriter() == null || post.getWriter().isBlank()) return "작성자는 필수입니다.";
+        return null;
+    }
+}
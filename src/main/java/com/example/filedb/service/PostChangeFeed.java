@@ -0,0 +1,403 @@
+package com.example.filedb.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.PostChangeMessage;
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 게시글 변경 피드 (GET /posts/stream, Server-Sent Events)
+/*
+ * 1. PostChangedEvent 를 받을 때마다 순번(seq)을 붙여 최근 변경 이력(링 버퍼)에 넣음
+ *    -> 구독자별 대기열은 없고, 구독자는 "어디까지 보냈는지(cursor)" 만 가짐
+ * 2. 보낼 게 생긴 구독자만 전송 스레드에 맡겨서 cursor 이후 변경을 한 번에 보냄
+ *    - 같은 게시글이 여러 번 바뀌었으면 마지막 변경만 보냄 (느린 구독자는 자연스럽게 합쳐서 받음)
+ *    - 서블릿 비동기 출력(WriteListener)으로 쓰므로 소켓이 막힌 구독자 때문에 전송 스레드가 묶이지 않음
+ *      (쓸 수 없으면 그냥 뒤처진 채로 두고, 쓸 수 있게 되면 그 사이 변경을 합쳐서 보냄)
+ * 3. 이벤트 ID 는 "{기동 구분값}-{seq}" -> 재연결 시 Last-Event-ID 이후부터 이어서 보냄
+ *    - 이력에서 이미 밀려났거나 다른 기동의 ID 면 reset 이벤트 (클라이언트는 목록을 다시 조회)
+ *    - 대량 가져오기(PostsImportedEvent)도 게시글별로 보내지 않고 reset 하나로 알림
+ * 4. 쉬고 있는 연결은 스레드를 잡지 않음, 끊긴 연결은 주기적 heartbeat 전송 실패로 정리
+ */
+@Service
+public class PostChangeFeed {
+
+    // 재연결 시 이어 보낼 수 있는 최근 변경 수
+    @Value("${filedb.stream.history-size:4096}")
+    private int historySize;
+
+    // 동시에 연결할 수 있는 최대 구독자 수 (넘으면 503)
+    @Value("${filedb.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    // 이벤트 전송 스레드 수
+    @Value("${filedb.stream.sender-threads:4}")
+    private int senderThreads;
+
+    // heartbeat(주석 한 줄) 전송 간격
+    @Value("${filedb.stream.heartbeat-ms:30000}")
+    private long heartbeatMs;
+
+    // 연결 유지 시간 (지나면 닫고 클라이언트가 Last-Event-ID 로 재연결)
+    @Value("${filedb.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 재연결 대기 시간 (SSE retry 필드)
+    private static final long RECONNECT_MS = 3000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 이번 기동을 구분하는 값 (순번은 기동마다 0 부터 다시 시작)
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // 변경 한 건 (SSE data 는 추가할 때 한 번만 직렬화)
+    record Change(long seq, long postId, String json) {}
+
+    // cursor 이후 보낼 변경 (changes 가 null 이면 이력이 밀려나서 reset)
+    record Batch(long upTo, List<Change> changes) {}
+
+    // 최근 변경 이력 (seq % 길이 위치), history 자체를 락으로 사용
+    private Change[] history;
+    private volatile long head; // 마지막으로 붙인 seq (0 이면 아직 없음)
+    private long resetSeq;      // 마지막 대량 가져오기의 seq (이보다 앞 cursor 는 reset)
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    private ExecutorService senders;
+    private ScheduledExecutorService dispatcher;
+
+    private static final class Subscriber {
+        final AsyncContext async;
+        final ServletOutputStream out;
+        volatile long cursor;           // 여기까지 보냄
+        volatile boolean resetPending;  // 처음 보낼 때 reset 이벤트부터
+        volatile boolean heartbeatDue;
+        boolean greeted;                // ready 이벤트를 보냈는지 (전송 스레드에서만 사용)
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicLong writable = new AtomicLong(); // onWritePossible 호출 횟수
+
+        Subscriber(AsyncContext async, ServletOutputStream out, long cursor, boolean resetPending) {
+            this.async = async;
+            this.out = out;
+            this.cursor = cursor;
+            this.resetPending = resetPending;
+        }
+    }
+
+
+    @PostConstruct
+    public void start() {
+        history = new Change[Math.max(16, historySize)];
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread thread = new Thread(r, "filedb-change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "filedb-change-feed-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber, true);
+        }
+    }
+
+
+    /**
+     * 변경 피드 구독 (요청을 비동기로 전환하고 바로 반환). 구독자 수가 최대치면 false.
+     * lastEventId 가 있으면 그 이후 변경부터, 없으면 지금 이후 변경부터 보낸다.
+     */
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+
+        long current = head;
+        long resumeFrom = parseEventId(lastEventId);
+        boolean reset = lastEventId != null && (resumeFrom < 0 || resumeFrom > current);
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // 프록시(nginx) 버퍼링 끄기
+
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(timeoutMs);
+        ServletOutputStream out = response.getOutputStream();
+        Subscriber subscriber = new Subscriber(async, out, (reset || resumeFrom < 0) ? current : resumeFrom, reset);
+
+        async.addListener(new AsyncListener() {
+            @Override public void onComplete(AsyncEvent event) { close(subscriber, false); }
+            @Override public void onTimeout(AsyncEvent event) { close(subscriber, true); }
+            @Override public void onError(AsyncEvent event) { close(subscriber, true); }
+            @Override public void onStartAsync(AsyncEvent event) { }
+        });
+        subscribers.add(subscriber);
+
+        // 쓸 수 있게 될 때마다 (등록 직후 포함) 전송 스레드에 맡김
+        out.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                subscriber.writable.incrementAndGet();
+                schedule(subscriber);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                close(subscriber, true);
+            }
+        });
+        return true;
+    }
+
+    // 현재 구독자 수
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+
+    // 저장/삭제 이벤트 -> 이력에 추가 후 구독자 깨우기
+    /* - 게시글 락을 잡은 채 호출되므로 여기서는 이력 추가만 하고 구독자 순회는 dispatch 스레드에서
+     */
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        PostDto post = event.getPost();
+        PostChangeMessage message = (post == null)
+                ? new PostChangeMessage(event.getType().name(), event.getPostId(), null, null, null, null)
+                : new PostChangeMessage(event.getType().name(), event.getPostId(),
+                        post.getTitle(), post.getWriter(), post.getUpdatedAt(), post.getVersion());
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            System.err.println("[PostChangeFeed] 변경 이벤트 직렬화 실패: id=" + event.getPostId());
+            return;
+        }
+
+        synchronized (history) {
+            long seq = head + 1;
+            history[(int) (seq % history.length)] = new Change(seq, event.getPostId(), json);
+            head = seq;
+        }
+        wakeUp();
+    }
+
+    // 대량 가져오기 -> 게시글마다 직렬화하지 않고 seq 하나를 reset 으로 씀
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        synchronized (history) {
+            long seq = head + 1;
+            history[(int) (seq % history.length)] = new Change(seq, -1, null);
+            resetSeq = seq;
+            head = seq;
+        }
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::dispatch);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+            }
+        }
+    }
+
+
+    // 보낼 변경이 있는 구독자를 전송 스레드에 맡김
+    private void dispatch() {
+        dispatchPending.set(false);
+        long current = head;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.cursor < current) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // 쉬고 있는 연결에 주석 한 줄 -> 끊긴 연결은 전송 실패로 정리됨
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed.get() || !subscriber.scheduled.compareAndSet(false, true)) return;
+        try {
+            senders.execute(() -> deliver(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+        }
+    }
+
+
+    // 구독자 하나에 cursor 이후 변경 전송 (한 구독자는 동시에 한 스레드에서만)
+    /* - 소켓에 바로 쓸 수 없으면(isReady == false) 보내지 않고 끝냄 -> onWritePossible 에서 다시 맡겨짐
+     * - 한 번 쓴 내용은 컨테이너가 버퍼에 들고 있다가 보냄 (구독자당 최대 한 묶음)
+     */
+    private void deliver(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.closed.get()) return;
+                long writable = subscriber.writable.get();
+                boolean pending = !subscriber.greeted || subscriber.resetPending
+                        || subscriber.cursor < head || subscriber.heartbeatDue;
+
+                if (pending && subscriber.out.isReady()) {
+                    subscriber.out.write(nextPayload(subscriber).getBytes(StandardCharsets.UTF_8));
+                    if (subscriber.out.isReady()) {
+                        subscriber.out.flush();
+                    }
+                    continue;
+                }
+
+                subscriber.scheduled.set(false);
+                // 그 사이 새 변경이 들어왔거나(dispatch 가 건너뛰었을 수 있음) 쓸 수 있게 됐으면 이어서 처리
+                boolean missed = pending
+                        ? subscriber.writable.get() != writable
+                        : (subscriber.cursor < head || subscriber.heartbeatDue);
+                if (!missed || !subscriber.scheduled.compareAndSet(false, true)) return;
+            }
+        } catch (IOException | RuntimeException e) {
+            // 연결이 끊김 / 이미 닫힘 (끊긴 직후 컨테이너가 응답을 정리하는 중이면 런타임 예외로도 옴)
+            close(subscriber, true);
+        }
+    }
+
+    // 이번에 보낼 SSE 본문 (ready -> reset -> 변경 묶음 / heartbeat)
+    private String nextPayload(Subscriber subscriber) {
+        StringBuilder payload = new StringBuilder();
+        if (!subscriber.greeted) {
+            payload.append("retry: ").append(RECONNECT_MS).append('\n');
+            appendEvent(payload, "ready", subscriber.cursor, "");
+            subscriber.greeted = true;
+        }
+        if (subscriber.resetPending) {
+            appendEvent(payload, "reset", subscriber.cursor, "");
+            subscriber.resetPending = false;
+        }
+        if (subscriber.cursor < head) {
+            Batch batch = changesAfter(subscriber.cursor);
+            if (batch.changes() == null) {
+                appendEvent(payload, "reset", batch.upTo(), "");
+            } else {
+                for (Change change : batch.changes()) {
+                    appendEvent(payload, "post", change.seq(), change.json());
+                }
+            }
+            subscriber.cursor = batch.upTo();
+        }
+        if (subscriber.heartbeatDue) {
+            subscriber.heartbeatDue = false;
+            if (payload.isEmpty()) {
+                payload.append(": ping\n\n");
+            }
+        }
+        return payload.toString();
+    }
+
+    private void appendEvent(StringBuilder payload, String name, long seq, String data) {
+        payload.append("event: ").append(name).append('\n')
+                .append("id: ").append(epoch).append('-').append(seq).append('\n')
+                .append("data: ").append(data).append("\n\n");
+    }
+
+    // cursor 이후 변경을 게시글별 마지막 변경만 남겨 seq 순으로
+    /* - 중간에 연결이 끊겨도 이미 보낸 마지막 seq 이후로 이어 받으면 빠지는 게시글이 없음
+     *   (건너뛴 변경은 모두 같은 게시글의 더 뒤 변경으로 대신 보냄)
+     */
+    Batch changesAfter(long cursor) {
+        synchronized (history) {
+            long upTo = head;
+            long oldest = Math.max(1, upTo - history.length + 1);
+            if (cursor + 1 < oldest || cursor < resetSeq) {
+                return new Batch(upTo, null);
+            }
+            Map<Long, Change> latest = new LinkedHashMap<>();
+            for (long seq = cursor + 1; seq <= upTo; seq++) {
+                Change change = history[(int) (seq % history.length)];
+                latest.remove(change.postId());
+                latest.put(change.postId(), change);
+            }
+            return new Batch(upTo, new ArrayList<>(latest.values()));
+        }
+    }
+
+    // 구독 해제 (completeAsync 면 연결도 닫음)
+    private void close(Subscriber subscriber, boolean completeAsync) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+        subscribers.remove(subscriber);
+        subscriberCount.decrementAndGet();
+        if (completeAsync) {
+            try {
+                subscriber.async.complete();
+            } catch (IllegalStateException e) {
+                // 이미 끝난 요청
+            }
+        }
+    }
+
+
+    // "{기동 구분값}-{seq}" -> seq (없으면 -1, 형식이 다르거나 다른 기동의 ID 면 -2)
+    private long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return -1;
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) return -2;
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -2;
+        }
+    }
+}
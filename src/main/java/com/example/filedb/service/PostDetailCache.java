@@ -0,0 +1,111 @@
+package com.example.filedb.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.exception.PostNotFoundException;
+import com.example.filedb.repository.FilePostRepository;
+import com.example.filedb.repository.PostMeta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+// 게시글 상세 응답(JSON)의 gzip 압축본 캐시
+/*
+ * - 상세 응답은 Toast UI content(markdown + html 중복)가 커서 매 요청 압축 비용이 큼
+ * - 게시글 버전(PostMeta.versionKey) 별로 한 번만 직렬화 + 압축하고 이후 요청은 바이트를 그대로 전송
+ * - 압축본과 함께 그 본문의 PostDto.version 을 돌려줘서 ETag 가 본문과 어긋나지 않게 함
+ * - 게시글당 최신 버전 하나만 보관, 전체 크기는 max-bytes 로 제한 (LRU)
+ */
+@Service
+@RequiredArgsConstructor
+public class PostDetailCache {
+
+    private final FilePostRepository postRepository;
+    private final ObjectMapper objectMapper;
+
+    // 캐시에 보관할 압축본 전체 최대 크기
+    @Value("${filedb.detail-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    // 게시글 ID -> (버전 키, 압축본), 접근 순서 유지 (LRU)
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+
+    private record Entry(String version, long postVersion, byte[] gzipBody) {}
+
+    // 압축본 + 본문에 담긴 게시글 버전 (ETag 용)
+    public record GzippedPost(long version, byte[] body) {}
+
+
+    /**
+     * 게시글 상세 JSON 의 gzip 압축본을 반환한다.
+     * 캐시된 버전이 현재 인덱스의 버전과 같으면 파일을 읽지 않는다.
+     */
+    public GzippedPost getGzippedPost(Long id) {
+        PostMeta meta = postRepository.findPostMeta(id)
+                .orElseThrow(() -> new PostNotFoundException(id));
+        String version = meta.versionKey();
+
+        synchronized (entries) {
+            Entry cached = entries.get(id);
+            if (cached != null && cached.version().equals(version)) {
+                return new GzippedPost(cached.postVersion(), cached.gzipBody());
+            }
+        }
+
+        // 캐시 미스 -> 파일 읽고 직렬화 + 압축 (락 밖에서)
+        PostDto post = postRepository.findPostById(id)
+                .orElseThrow(() -> new PostNotFoundException(id));
+        long postVersion = (post.getVersion() == null) ? 0L : post.getVersion();
+        byte[] body = gzip(post);
+
+        synchronized (entries) {
+            Entry old = entries.put(id, new Entry(version, postVersion, body));
+            if (old != null) totalBytes -= old.gzipBody().length;
+            totalBytes += body.length;
+            evictIfNeeded();
+        }
+        return new GzippedPost(postVersion, body);
+    }
+
+
+    // 삭제된 게시글 압축본 제거
+    public void evict(Long id) {
+        synchronized (entries) {
+            Entry old = entries.remove(id);
+            if (old != null) totalBytes -= old.gzipBody().length;
+        }
+    }
+
+
+    // 오래 안 쓰인 것부터 제거
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Long, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            totalBytes -= it.next().getValue().gzipBody().length;
+            it.remove();
+        }
+    }
+
+
+    private byte[] gzip(Object value) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                objectMapper.writeValue(gzip, value);
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("상세 응답 압축 중 오류 발생", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.filedb.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.LayoutMigrationStatus;
+import com.example.filedb.repository.FilePostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 게시글 파일 샤드 이전 (posts/{id}.json -> posts/ab/cd/{id}.json)
+/*
+ * - 서비스를 멈추지 않고 백그라운드 스레드 하나가 예전 위치 파일을 하나씩 옮김
+ * - 게시글 하나를 옮기는 동안만 그 게시글 락을 잡으므로 다른 요청은 거의 기다리지 않음
+ * - 옮기기 전/도중에도 조회는 두 위치를 모두 확인하고, 수정된 글은 저장하면서 샤드 위치로 옮겨짐
+ */
+@Service
+@RequiredArgsConstructor
+public class PostLayoutMigrationService {
+
+    private final FilePostRepository postRepository;
+
+    private final AtomicLong migrated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+
+    /**
+     * 이전 작업 시작 (이미 진행 중이면 그대로 둔다).
+     */
+    public synchronized LayoutMigrationStatus start() {
+        if (!running) {
+            running = true;
+            migrated.set(0);
+            failed.set(0);
+            startedAt = System.currentTimeMillis();
+            finishedAt = 0;
+
+            Thread worker = new Thread(this::migrateAll, "filedb-layout-migration");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        return status();
+    }
+
+
+    public LayoutMigrationStatus status() {
+        return new LayoutMigrationStatus(
+                running,
+                migrated.get(),
+                failed.get(),
+                postRepository.findLegacyPostIds().size(),
+                startedAt,
+                finishedAt);
+    }
+
+
+    private void migrateAll() {
+        try {
+            List<Long> ids = postRepository.findLegacyPostIds();
+            for (Long id : ids) {
+                try {
+                    if (postRepository.migrateToShard(id)) {
+                        migrated.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    System.err.println("[PostLayoutMigrationService] 이전 실패: id=" + id + ", " + e.getMessage());
+                }
+            }
+        } finally {
+            finishedAt = System.currentTimeMillis();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.example.filedb.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+// 관련도 검색용 역색인 (BM25)
+/*
+ * - 용어 -> (게시글 ID -> 제목/본문 내 출현 위치) 를 메모리에 유지
+ * - 검색 시 질의 용어의 posting 에 있는 게시글만 점수 계산 (전체 게시글을 훑지 않음)
+ * - 점수 = title-boost * BM25(제목) + BM25(본문)
+ * - 질의 문법
+ *     단어      : 그 용어를 포함하는 글
+ *     "두 단어" : 같은 필드에서 연속으로 등장하는 글 (구문 검색)
+ *     단어*     : 그 접두어로 시작하는 용어를 포함하는 글
+ * - 게시글 저장/삭제(PostChangedEvent) 시 해당 글만 빼고 다시 넣음
+ * - 기동 시 전체 재구성 대신 IndexSnapshotService 가 스냅샷에서 복원
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private final ObjectMapper objectMapper;
+
+    // BM25 파라미터
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    // 이보다 긴 글자/숫자 구간은 색인하지 않음 (위치는 한 칸 차지해서 구문이 건너뛰어 매칭되지 않도록)
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    // 제목 점수 가중치
+    @Value("${filedb.search.title-boost:2.0}")
+    private double titleBoost;
+
+    // 접두어 질의 하나가 확장될 수 있는 최대 용어 수
+    @Value("${filedb.search.max-prefix-expansion:64}")
+    private int maxPrefixExpansion;
+
+    // 용어 사전 (정렬되어 있어서 접두어 범위 조회 가능)
+    private final TreeMap<String, Map<Long, Posting>> postings = new TreeMap<>();
+
+    // 게시글별 필드 길이 + 포함 용어 (삭제 시 posting 정리용)
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalTitleLength;
+    private long totalContentLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 한 게시글 안에서 어떤 용어가 등장한 위치 (토큰 순번)
+    private static final class Posting {
+        int[] title = NO_POSITIONS;
+        int[] content = NO_POSITIONS;
+    }
+
+    private record Doc(int titleLength, int contentLength, String[] terms) {}
+
+    // 검색 결과: 점수가 0 보다 큰 전체 게시글 수 + 요청 구간의 ID (점수 내림차순)
+    public record Result(long total, List<Long> ids) {}
+
+    // 질의 절: 단어 / 접두어 / 구문
+    private record Clause(List<String> terms, boolean phrase, boolean prefix) {}
+
+
+    // 기동 시 적재는 IndexSnapshotService 가 스냅샷 복원 + 변경분 apply 로 수행
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        apply(event);
+    }
+
+
+    // 게시글 한 건의 변경을 색인에 반영 (기존 내용을 빼고 다시 넣음)
+    public void apply(PostChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(event.getPostId());
+            if (event.getType() == PostChangedEvent.Type.SAVED) {
+                addDoc(event.getPost());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    // 대량 가져오기 배치 -> 쓰기 락을 한 번만 잡고 모두 색인
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (PostDto post : event.getPosts()) {
+                removeDoc(post.getId());
+                addDoc(post);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            totalTitleLength = 0;
+            totalContentLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * 색인 스냅샷 기록.
+     * [문서] int 개수, (id, 제목 길이, 본문 길이)...
+     * [용어] int 개수, (용어, int posting 수, (id, 제목 위치[], 본문 위치[])...)...
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(docs.size());
+            for (Map.Entry<Long, Doc> entry : docs.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue().titleLength());
+                out.writeInt(entry.getValue().contentLength());
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Map<Long, Posting>> term : postings.entrySet()) {
+                out.writeUTF(term.getKey());
+                out.writeInt(term.getValue().size());
+                for (Map.Entry<Long, Posting> entry : term.getValue().entrySet()) {
+                    out.writeLong(entry.getKey());
+                    writePositions(out, entry.getValue().title);
+                    writePositions(out, entry.getValue().content);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 색인 스냅샷 복원 (문서별 용어 목록은 posting 을 읽으면서 다시 구성)
+    public void readFrom(DataInputStream in) throws IOException {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            totalTitleLength = 0;
+            totalContentLength = 0;
+
+            int docCount = in.readInt();
+            Map<Long, int[]> lengths = new HashMap<>(docCount * 2);
+            for (int i = 0; i < docCount; i++) {
+                long id = in.readLong();
+                lengths.put(id, new int[] { in.readInt(), in.readInt() });
+            }
+
+            Map<Long, List<String>> termsByDoc = new HashMap<>(docCount * 2);
+            int termCount = in.readInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int postingCount = in.readInt();
+                Map<Long, Posting> termPostings = new HashMap<>(postingCount * 2);
+                for (int p = 0; p < postingCount; p++) {
+                    long id = in.readLong();
+                    Posting posting = new Posting();
+                    posting.title = readPositions(in);
+                    posting.content = readPositions(in);
+                    termPostings.put(id, posting);
+                    termsByDoc.computeIfAbsent(id, k -> new ArrayList<>()).add(term);
+                }
+                postings.put(term, termPostings);
+            }
+
+            for (Map.Entry<Long, int[]> entry : lengths.entrySet()) {
+                List<String> terms = termsByDoc.getOrDefault(entry.getKey(), List.of());
+                int[] length = entry.getValue();
+                docs.put(entry.getKey(), new Doc(length[0], length[1], terms.toArray(new String[0])));
+                totalTitleLength += length[0];
+                totalContentLength += length[1];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void writePositions(DataOutputStream out, int[] positions) throws IOException {
+        out.writeInt(positions.length);
+        for (int position : positions) {
+            out.writeInt(position);
+        }
+    }
+
+    private static int[] readPositions(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == 0) return NO_POSITIONS;
+        int[] positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = in.readInt();
+        }
+        return positions;
+    }
+
+
+    /**
+     * BM25 관련도 순 검색.
+     * 상위 offset + limit 개만 힙으로 골라낸 뒤 요청 구간을 반환한다.
+     */
+    public Result search(String query, int offset, int limit) {
+        List<Clause> clauses = parse(query);
+
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            if (docCount == 0 || clauses.isEmpty()) {
+                return new Result(0, List.of());
+            }
+            double avgTitle = Math.max(1.0, (double) totalTitleLength / docCount);
+            double avgContent = Math.max(1.0, (double) totalContentLength / docCount);
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (Clause clause : clauses) {
+                if (clause.phrase()) {
+                    scorePhrase(clause.terms(), docCount, avgTitle, avgContent, scores);
+                } else if (clause.prefix()) {
+                    String prefix = clause.terms().get(0);
+                    int expanded = 0;
+                    for (String term : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+                        if (expanded++ >= maxPrefixExpansion) break;
+                        scoreTerm(term, docCount, avgTitle, avgContent, scores);
+                    }
+                } else {
+                    scoreTerm(clause.terms().get(0), docCount, avgTitle, avgContent, scores);
+                }
+            }
+
+            return new Result(scores.size(), topK(scores, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    // ===== 점수 계산 =====
+
+    private void scoreTerm(String term, int docCount, double avgTitle, double avgContent, Map<Long, Double> scores) {
+        Map<Long, Posting> termPostings = postings.get(term);
+        if (termPostings == null) return;
+
+        double idf = idf(docCount, termPostings.size());
+        for (Map.Entry<Long, Posting> entry : termPostings.entrySet()) {
+            Doc doc = docs.get(entry.getKey());
+            Posting posting = entry.getValue();
+            double score = titleBoost * bm25(posting.title.length, doc.titleLength(), avgTitle)
+                    + bm25(posting.content.length, doc.contentLength(), avgContent);
+            scores.merge(entry.getKey(), idf * score, Double::sum);
+        }
+    }
+
+    // 구문: 모든 용어를 가진 게시글 중에서 위치가 연속인 횟수를 tf 로 사용
+    private void scorePhrase(List<String> terms, int docCount, double avgTitle, double avgContent, Map<Long, Double> scores) {
+        // terms 의 null 은 색인하지 않은 긴 구간 자리 (위치만 맞추고 용어는 비교하지 않음)
+        List<Map<Long, Posting>> lists = new ArrayList<>(terms.size());
+        double idf = 0;
+        for (String term : terms) {
+            if (term == null) {
+                lists.add(null);
+                continue;
+            }
+            Map<Long, Posting> termPostings = postings.get(term);
+            if (termPostings == null) return; // 없는 용어가 있으면 매칭 불가
+            lists.add(termPostings);
+            idf += idf(docCount, termPostings.size());
+        }
+
+        // 가장 짧은 posting 기준으로 후보 순회
+        Map<Long, Posting> smallest = lists.stream().filter(list -> list != null)
+                .min(Comparator.comparingInt(Map::size)).get();
+        for (Long id : smallest.keySet()) {
+            Posting[] perTerm = new Posting[lists.size()];
+            boolean all = true;
+            for (int i = 0; i < lists.size() && all; i++) {
+                if (lists.get(i) == null) continue;
+                perTerm[i] = lists.get(i).get(id);
+                all = perTerm[i] != null;
+            }
+            if (!all) continue;
+
+            int[][] titlePositions = new int[perTerm.length][];
+            int[][] contentPositions = new int[perTerm.length][];
+            for (int i = 0; i < perTerm.length; i++) {
+                if (perTerm[i] == null) continue;
+                titlePositions[i] = perTerm[i].title;
+                contentPositions[i] = perTerm[i].content;
+            }
+            int titleTf = countPhrase(titlePositions);
+            int contentTf = countPhrase(contentPositions);
+            if (titleTf == 0 && contentTf == 0) continue;
+
+            Doc doc = docs.get(id);
+            double score = titleBoost * bm25(titleTf, doc.titleLength(), avgTitle)
+                    + bm25(contentTf, doc.contentLength(), avgContent);
+            scores.merge(id, idf * score, Double::sum);
+        }
+    }
+
+    // positions[0] 의 각 위치 p 에 대해 positions[i] 에 p + i 가 모두 있으면 구문 1회 (null 인 칸은 건너뜀)
+    private static int countPhrase(int[][] positions) {
+        int count = 0;
+        for (int start : positions[0]) {
+            boolean match = true;
+            for (int i = 1; i < positions.length && match; i++) {
+                match = positions[i] == null || Arrays.binarySearch(positions[i], start + i) >= 0;
+            }
+            if (match) count++;
+        }
+        return count;
+    }
+
+    private static double idf(int docCount, int docFreq) {
+        return Math.log(1.0 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    private static double bm25(int tf, int length, double avgLength) {
+        if (tf == 0) return 0.0;
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    // 최소 힙으로 상위 k 개만 유지 -> 점수 내림차순(동점이면 최신 글 먼저)으로 정렬 후 구간 반환
+    private static List<Long> topK(Map<Long, Double> scores, int offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= scores.size()) return List.of();
+        int k = (int) Math.min((long) offset + limit, scores.size());
+
+        Comparator<Map.Entry<Long, Double>> order = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Math.min(k, scores.size()), order);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (order.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(heap);
+        sorted.sort(order.reversed());
+
+        List<Long> ids = new ArrayList<>(limit);
+        for (int i = offset; i < sorted.size(); i++) {
+            ids.add(sorted.get(i).getKey());
+        }
+        return ids;
+    }
+
+
+    // ===== 색인 갱신 (write lock 안에서 호출) =====
+
+    private void addDoc(PostDto post) {
+        List<String> titleTokens = tokenize(post.getTitle(), true);
+        List<String> contentTokens = tokenize(extractText(post.getContent()), true);
+
+        Map<String, Posting> perTerm = new LinkedHashMap<>();
+        collectPositions(titleTokens, perTerm, true);
+        collectPositions(contentTokens, perTerm, false);
+
+        for (Map.Entry<String, Posting> entry : perTerm.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(post.getId(), entry.getValue());
+        }
+        docs.put(post.getId(), new Doc(titleTokens.size(), contentTokens.size(),
+                perTerm.keySet().toArray(new String[0])));
+        totalTitleLength += titleTokens.size();
+        totalContentLength += contentTokens.size();
+    }
+
+    private void removeDoc(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        for (String term : doc.terms()) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            if (termPostings == null) continue;
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalTitleLength -= doc.titleLength();
+        totalContentLength -= doc.contentLength();
+    }
+
+    private static void collectPositions(List<String> tokens, Map<String, Posting> perTerm, boolean title) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.get(i) == null) continue; // 색인하지 않은 긴 구간 (위치만 차지)
+            positions.computeIfAbsent(tokens.get(i), t -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+            int[] array = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Posting posting = perTerm.computeIfAbsent(entry.getKey(), t -> new Posting());
+            if (title) {
+                posting.title = array;
+            } else {
+                posting.content = array;
+            }
+        }
+    }
+
+
+    // ===== 텍스트 처리 =====
+
+    // Toast UI content({"markdown": ..., "html": ...})면 markdown 만 색인 (html 은 같은 내용의 중복)
+    private String extractText(String content) {
+        if (content == null) return "";
+        String trimmed = content.trim();
+        if (trimmed.startsWith("{")) {
+            try {
+                JsonNode root = objectMapper.readTree(trimmed);
+                JsonNode markdown = root.get("markdown");
+                if (markdown != null && markdown.isTextual()) {
+                    return markdown.asText();
+                }
+            } catch (Exception e) {
+                // JSON 이 아니면 원문 그대로 색인
+            }
+        }
+        return content;
+    }
+
+    // 소문자 + 글자/숫자 연속 구간을 하나의 용어로
+    // (base64 이미지 같은 너무 긴 구간은 용어로 쓰지 않음)
+    static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    // keepGaps 면 너무 긴 구간 자리에 null 을 넣어서 뒤 용어들의 위치가 당겨지지 않게 함 (색인 / 구문 질의용)
+    static List<String> tokenize(String text, boolean keepGaps) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                addToken(tokens, current, keepGaps);
+            }
+        }
+        if (current.length() > 0) {
+            addToken(tokens, current, keepGaps);
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, StringBuilder current, boolean keepGaps) {
+        if (current.length() <= MAX_TOKEN_LENGTH) {
+            tokens.add(current.toString());
+        } else if (keepGaps) {
+            tokens.add(null);
+        }
+        current.setLength(0);
+    }
+
+    // 질의 파싱: "구문", 접두어*, 일반 단어
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) return clauses;
+
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) end = query.length();
+                List<String> terms = trimGaps(tokenize(query.substring(i + 1, end), true));
+                if (terms.size() == 1) {
+                    clauses.add(new Clause(terms, false, false));
+                } else if (terms.size() > 1) {
+                    clauses.add(new Clause(terms, true, false));
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end))) end++;
+                String word = query.substring(i, end);
+                boolean prefix = word.endsWith("*");
+                List<String> terms = tokenize(word);
+                for (int t = 0; t < terms.size(); t++) {
+                    boolean last = (t == terms.size() - 1);
+                    clauses.add(new Clause(List.of(terms.get(t)), false, prefix && last));
+                }
+                i = end;
+            }
+        }
+        return clauses;
+    }
+
+    // 구문 앞뒤의 빈 자리(null)는 조건이 아니므로 제거, 가운데 빈 자리는 아무 용어나 한 칸
+    private static List<String> trimGaps(List<String> terms) {
+        int from = 0;
+        int to = terms.size();
+        while (from < to && terms.get(from) == null) from++;
+        while (to > from && terms.get(to - 1) == null) to--;
+        return terms.subList(from, to);
+    }
+}
@@ -2,8 +2,13 @@ package com.example.filedb.service;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +18,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.example.filedb.dto.PostDto;
 import com.example.filedb.dto.PostPageResponse;
+import com.example.filedb.dto.WriteBehindStats;
 import com.example.filedb.exception.PostNotFoundException;
+import com.example.filedb.repository.EditorImageIndex;
 import com.example.filedb.repository.FilePostRepository;
+import com.example.filedb.repository.IdPage;
+import com.example.filedb.repository.PostListSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +35,16 @@ public class PostService {
 	
 	// 의존성 주입
 	private final FilePostRepository postRepository;
+	private final EditorImageIndex editorImageIndex;
+	private final ObjectMapper objectMapper;
+	private final PostDetailCache postDetailCache;
+	private final SearchResultCache searchResultCache;
+	private final PostSearchIndex postSearchIndex;
+	private final PageSnapshotStore pageSnapshotStore;
+	
+	// 페이지 스냅샷 토큰 구분용 조회 종류 (검색은 뒤에 정규화된 검색어를 붙임)
+	private static final String LIST_SNAPSHOT_QUERY = "list";
+	private static final String SEARCH_SNAPSHOT_QUERY = "search:";
 	
 	// 날짜는 String 으로 저장
 	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
@@ -32,6 +53,10 @@ public class PostService {
 	@Value("${filedb.upload-path}")
 	private String uploadPath;
 	
+	// 한 페이지에 담을 수 있는 최대 게시글 수 (요청당 메모리 상한)
+	@Value("${filedb.page.max-size:100}")
+	private int maxPageSize;
+	
 		
 	// 1. 새 게시글 생성
 	public PostDto createPost(PostDto request) {
@@ -47,12 +72,19 @@ public class PostService {
 	
 	
 	// 2. 기존 게시글 수정
-	public PostDto updatePost(Long id, PostDto request) {
+	// - expectedVersion: If-Match 헤더의 버전 (없으면 요청 본문의 version, 그것도 없으면 방금 읽은 버전)
+	// - 저장 시점의 버전이 다르면 PostVersionConflictException (409), 덮어쓰지 않음
+	public PostDto updatePost(Long id, PostDto request, Long expectedVersion) {
 		
 		// 기존 게시글 조회 (없으면 PostNotFoundException 예외 던지기)
 		PostDto existing = postRepository.findPostById(id)
 				.orElseThrow(()-> new PostNotFoundException(id));
 		
+		long current = (existing.getVersion() == null) ? 0L : existing.getVersion();
+		long expected = (expectedVersion != null) ? expectedVersion
+				: (request.getVersion() != null) ? request.getVersion()
+				: current;
+		
 		// 변경 가능한 필드만 교체
 		existing.setTitle(request.getTitle());
 		existing.setContent(request.getContent());
@@ -61,8 +93,8 @@ public class PostService {
 		// 수정 시간 갱신
 		existing.setUpdatedAt(LocalDateTime.now().format(DATE_TIME_FORMATTER));
 		
-		// 다시 저장
-		return postRepository.save(existing);
+		// 버전 비교 후 저장 (그 사이 다른 요청이 먼저 저장했으면 409)
+		return postRepository.saveIfVersion(existing, expected);
 	}
 	
 	
@@ -98,6 +130,7 @@ public class PostService {
         }
         // 있다면 ID 를 이용해서 삭제
         postRepository.deletePostById(postId);
+        postDetailCache.evict(postId);
     }
     
     
@@ -159,67 +192,106 @@ public class PostService {
     }
     
     
-    // 8. 내부 공통 유틸: List<PostDto> -> PostPageResponse 로 변환
+    // 9. 검색 결과 페이징
+    // - 검색어별 매칭 ID 목록은 SearchResultCache 에서 가져오고(없으면 스캔 후 캐시)
+    // - 요청 페이지에 해당하는 파일만 읽음
+    // - snapshot 토큰을 주면 첫 페이지 때의 매칭 ID 목록 기준으로 자름 (그 사이 저장/삭제로 밀리지 않음)
+    //   고정되는 것은 ID 목록뿐 (삭제된 글은 빠지고 내용은 최신, PageSnapshotStore 참고)
+    public PostPageResponse searchPostsPage(String keyword, int page, int size) {
+        return searchPostsPage(keyword, page, size, null);
+    }
+    
+    public PostPageResponse searchPostsPage(String keyword, int page, int size, String snapshot) {
+        if (keyword == null || keyword.isBlank()) {
+            return getPostsPage(page, size, null, null, null, null, snapshot);
+        }
+        if (page < 0) page = 0;
+        size = normalizeSize(size);
+        
+        String query = SEARCH_SNAPSHOT_QUERY + SearchResultCache.normalize(keyword);
+        PostListSnapshot view = pageSnapshotStore.get(snapshot, query);
+        if (view == null) {
+            view = PostListSnapshot.ofDescending(searchResultCache.getIds(keyword));
+        }
+        return buildPage(page, size, view.size(), view.page((long) page * size, size),
+                pageSnapshotStore.pin(query, view));
+    }
+    
+    
+    // 9-1. 관련도(BM25) 순 검색 결과 페이징
+    // - PostSearchIndex 에서 상위 (page+1)*size 개만 골라 요청 페이지 ID 를 받고, 그 파일만 읽음
+    public PostPageResponse searchRankedPage(String keyword, int page, int size) {
+        if (keyword == null || keyword.isBlank()) {
+            return getPostsPage(page, size);
+        }
+        if (page < 0) page = 0;
+        size = normalizeSize(size);
+        
+        // 큰 page 에서 int 곱셈이 넘치지 않도록 long 으로 계산 후 int 범위로 자름 (넘어가면 빈 페이지)
+        long offset = Math.min((long) page * size, Integer.MAX_VALUE - size);
+        PostSearchIndex.Result result = postSearchIndex.search(keyword, (int) offset, size);
+        return buildPage(page, size, result.total(), result.ids(), null);
+    }
+    
+    
+    // 10. 전체 목록 페이징
+    // - 인메모리 인덱스에서 전체 개수와 해당 페이지 ID 만 가져온 뒤, 그 페이지 파일만 읽음
+    public PostPageResponse getPostsPage(int page, int size) {
+        return getPostsPage(page, size, null, null, null, null, null);
+    }
+    
+    // 10-1. 조건(작성자 / 날짜 범위) + 정렬 목록 페이징
     /*
-     *  - 전체/검색 결과에 공통으로 사용되는 페이징 처리
-     *  - DB 없는 파일 기반으로 메모리 리스트를 자르는 방식으로 페이징 구현 
+     * - writer   : 작성자 일치
+     * - from, to : 날짜(2024-01-01) 또는 날짜시각(2024-01-01T10:00:00), 양끝 포함
+     * - sort     : latest(작성일 최신 순, 기본) / updated(최근 수정 순, from/to 도 수정일 기준)
+     * - 보조 인덱스에서 개수와 페이지 ID 를 바로 구하므로 페이지 크기에 비례하는 시간만 걸림
+     * - snapshot : 조건 없는 기본 목록에서만 사용. 첫 페이지 응답의 토큰을 넘기면 같은 목록 스냅샷 기준으로 페이징
+     *              (조건/수정일 정렬 목록은 보조 인덱스 최신 상태 기준이며 응답 토큰은 null)
+     *              ID 목록 단위 일관성: 그 사이 삭제된 글은 빠져서 페이지가 짧아질 수 있고 내용은 읽는 시점의 최신
      */
-    private PostPageResponse slicePage(List<PostDto> source, int page, int size) {
-        // page, size 기본값/이상치 보정
+    public PostPageResponse getPostsPage(int page, int size, String writer, String from, String to, String sort) {
+        return getPostsPage(page, size, writer, from, to, sort, null);
+    }
+    
+    public PostPageResponse getPostsPage(int page, int size, String writer, String from, String to, String sort,
+            String snapshot) {
         if (page < 0) page = 0;
-        if (size <= 0) size = 10;
+        size = normalizeSize(size);
+        
+        if (isPlainList(writer, from, to, sort)) {
+            PostListSnapshot view = pageSnapshotStore.get(snapshot, LIST_SNAPSHOT_QUERY);
+            if (view == null) {
+                view = postRepository.listSnapshot();
+            }
+            return buildPage(page, size, view.size(), view.page((long) page * size, size),
+                    pageSnapshotStore.pin(LIST_SNAPSHOT_QUERY, view));
+        }
         
-        // 전체 데이터 개수
-        int totalElements = source.size();
-        // 전체 페이지 수
+        IdPage ids = findListIds(page, size, writer, from, to, sort);
+        return buildPage(page, size, ids.total(), ids.ids(), null);
+    }
+    
+    // 페이지 ID 의 게시글을 읽어서 응답 생성 (그 사이 삭제된 글은 건너뜀, 다음 ID 로 채우지 않음)
+    private PostPageResponse buildPage(int page, int size, long totalElements, List<Long> ids, String snapshot) {
         int totalPages = (totalElements == 0) ? 0
                 : (int) Math.ceil((double) totalElements / size);
         
-        // 자르기 시작 지점 계산
-        int fromIndex = page * size;
-        
-        // 시작 인덱스가 전체 개수보다 크다면 빈 페이지 반환
-        if (fromIndex >= totalElements) {
-            // 범위를 넘어가면 빈 페이지 반환
-            return PostPageResponse.builder()
-                    .page(page)
-                    .size(size)
-                    .totalElements(totalElements)
-                    .totalPages(totalPages)
-                    .content(List.of())
-                    .build();
+        List<PostDto> content = new ArrayList<>();
+        for (Long id : ids) {
+            postRepository.findPostById(id).ifPresent(content::add);
         }
         
-        // 종료 지점
-        int toIndex = Math.min(fromIndex + size, totalElements);
-        
-        // 실제 page 범위에 해당하는 데이터 자르기
-        List<PostDto> content = source.subList(fromIndex, toIndex);
-        
-        // 페이징 응답 DTO 생성
         return PostPageResponse.builder()
                 .page(page)
                 .size(size)
                 .totalElements(totalElements)
                 .totalPages(totalPages)
                 .content(content)
+                .snapshot(snapshot)
                 .build();
     }
     
-    // 9. 검색 결과 페이징
-    // - 검색 수행 후 결과 리스트 페이징 처리
-    public PostPageResponse searchPostsPage(String keyword, int page, int size) {
-    	List<PostDto> result = searchPosts(keyword);
-        return slicePage(result, page, size);
-    }
-    
-    
-    // 10. 전체 목록 페이징
-    // - 전체 목록을 가져온 뒤 페이징 처리
-    public PostPageResponse getPostsPage(int page, int size) {
-    	List<PostDto> all = getAllPosts();
-    	return slicePage(all, page, size);
-    }
     
     // 11. UI 에디터 이미지 업로드 
     public String uploadEditorImage(MultipartFile file) {
@@ -236,18 +308,8 @@ public class PostService {
             }
         }
 
-        // 원본 파일명에서 확장자 추출
-        String originalName = file.getOriginalFilename();
-        String extension = "";
-        if (originalName != null && originalName.lastIndexOf(".") != -1) {
-            extension = originalName.substring(originalName.lastIndexOf("."));
-        }
-        if (extension.isBlank()) {
-            extension = ".dat";
-        }
-
         // 저장할 파일명: 현재시간-랜덤값.확장자
-        String savedFilename = System.currentTimeMillis() + "-" + Math.round(Math.random() * 100000) + extension;
+        String savedFilename = newEditorImageFilename(file.getOriginalFilename());
 
         // 실제 저장할 파일 객체
         File dest = new File(dir, savedFilename);
@@ -258,15 +320,187 @@ public class PostService {
             e.printStackTrace();
             throw new RuntimeException("에디터 이미지 저장 중 오류 발생", e);
         }
+        
+        // 에디터 이미지 인덱스에 반영
+        editorImageIndex.add(savedFilename);
 
-        // 절대 URL 생성 (http://localhost:9090/images/editor/xxxx.png)
-        String url = ServletUriComponentsBuilder
+        return editorImageUrl(savedFilename);
+    }
+    
+    // 11-1. 에디터 이미지 저장 파일명: 현재시간-랜덤값.확장자 (확장자가 없거나 영문/숫자가 아니면 .dat)
+    public String newEditorImageFilename(String originalName) {
+        // 원본 파일명에서 확장자 추출 ("/" 등이 섞이면 저장 경로가 폴더 밖으로 나갈 수 있으므로 버림)
+        String extension = "";
+        if (originalName != null && originalName.lastIndexOf(".") != -1) {
+            extension = originalName.substring(originalName.lastIndexOf("."));
+        }
+        if (!extension.matches("\\.[A-Za-z0-9]{1,10}")) {
+            extension = ".dat";
+        }
+        return System.currentTimeMillis() + "-" + Math.round(Math.random() * 100000) + extension;
+    }
+    
+    // 11-2. 에디터 이미지 절대 URL (http://localhost:9090/images/editor/xxxx.png)
+    public String editorImageUrl(String savedFilename) {
+        return ServletUriComponentsBuilder
                 .fromCurrentContextPath()   // http://localhost:9090
                 .path("/images/editor/")
                 .path(savedFilename)
                 .toUriString();
-
-        return url;
+    }
+    
+    
+    // 12. 전체 목록 페이징 - 스트리밍 응답
+    /*
+     * - PostPageResponse 를 만들지 않고 JsonGenerator 로 바로 소켓에 기록
+     * - 페이지에 해당하는 파일을 하나 읽을 때마다 바로 써서 게시글 한 건 이상 메모리에 쌓이지 않음
+     * - 조건/정렬 파라미터는 getPostsPage 와 동일
+     */
+    public void streamPostsPage(int page, int size, OutputStream out) throws IOException {
+        streamPostsPage(page, size, null, null, null, null, out);
+    }
+    
+    public void streamPostsPage(int page, int size, String writer, String from, String to, String sort,
+            OutputStream out) throws IOException {
+        if (page < 0) page = 0;
+        size = normalizeSize(size);
+        
+        IdPage ids = findListIds(page, size, writer, from, to, sort);
+        long totalElements = ids.total();
+        int totalPages = (totalElements == 0) ? 0
+                : (int) Math.ceil((double) totalElements / size);
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("page", page);
+            generator.writeNumberField("size", size);
+            generator.writeNumberField("totalElements", totalElements);
+            generator.writeNumberField("totalPages", totalPages);
+            
+            generator.writeArrayFieldStart("content");
+            for (Long id : ids.ids()) {
+                PostDto post = postRepository.findPostById(id).orElse(null);
+                if (post == null) continue;
+                objectMapper.writeValue(generator, post);
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+    
+    
+    // 13. 검색 결과 페이징 - 스트리밍 응답
+    /*
+     * - 매칭 ID 목록은 SearchResultCache 에서 가져오고, 요청 페이지의 파일만 하나씩 읽어 바로 기록
+     */
+    public void streamSearchPage(String keyword, int page, int size, OutputStream out) throws IOException {
+        if (keyword == null || keyword.isBlank()) {
+            streamPostsPage(page, size, out);
+            return;
+        }
+        if (page < 0) page = 0;
+        size = normalizeSize(size);
+        
+        long[] ids = searchResultCache.getIds(keyword);
+        int totalElements = ids.length;
+        int totalPages = (totalElements == 0) ? 0
+                : (int) Math.ceil((double) totalElements / size);
+        long fromIndex = (long) page * size;
+        
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("page", page);
+            generator.writeNumberField("size", size);
+            generator.writeNumberField("totalElements", totalElements);
+            generator.writeNumberField("totalPages", totalPages);
+            
+            generator.writeArrayFieldStart("content");
+            for (long i = fromIndex; i < Math.min(fromIndex + size, totalElements); i++) {
+                PostDto post = postRepository.findPostById(ids[(int) i]).orElse(null);
+                if (post == null) continue;
+                objectMapper.writeValue(generator, post);
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+    
+    
+    // 14. write-behind 대기열 상태 (대기열 길이, 합쳐진 수정 수, 배치 반영 시간)
+    public WriteBehindStats getWriteBehindStats() {
+        return postRepository.writeBehindStats();
+    }
+    
+    
+    // 목록 조건 파라미터 검증 (스트리밍 응답은 쓰기 시작한 뒤에는 상태 코드를 바꿀 수 없으므로 미리 확인)
+    public void validateListParams(String from, String to, String sort) {
+        isUpdatedSort(sort);
+        parseDateBound(from, false);
+        parseDateBound(to, true);
+    }
+    
+    
+    // 목록 조건에 맞는 전체 개수 + 페이지 ID
+    // 조건이 없고 기본 정렬이면 ID 순 인덱스, 아니면 작성자/날짜 보조 인덱스 사용
+    private IdPage findListIds(int page, int size, String writer, String from, String to, String sort) {
+        boolean updated = isUpdatedSort(sort);
+        long offset = (long) page * size;
+        
+        if (isPlainList(writer, from, to, sort)) {
+            // 개수와 페이지 ID 를 같은 스냅샷에서 꺼냄
+            PostListSnapshot view = postRepository.listSnapshot();
+            return new IdPage(view.size(), view.page(offset, size));
+        }
+        if (offset > Integer.MAX_VALUE) {
+            return new IdPage(0, List.of());
+        }
+        return postRepository.findPostIdsByTime(
+                (writer == null || writer.isBlank()) ? null : writer,
+                updated,
+                parseDateBound(from, false),
+                parseDateBound(to, true),
+                (int) offset,
+                size);
+    }
+    
+    // 조건 없는 기본(최신 글 순) 목록인지
+    private boolean isPlainList(String writer, String from, String to, String sort) {
+        boolean filtered = (writer != null && !writer.isBlank()) || from != null || to != null;
+        return !filtered && !isUpdatedSort(sort);
+    }
+    
+    // sort 파라미터: latest(기본) / updated
+    private boolean isUpdatedSort(String sort) {
+        if (sort == null || sort.isBlank() || "latest".equalsIgnoreCase(sort)) return false;
+        if ("updated".equalsIgnoreCase(sort)) return true;
+        throw new IllegalArgumentException("지원하지 않는 정렬입니다: " + sort);
+    }
+    
+    // 날짜 파라미터 -> epoch millis (PostMeta.toEpochMillis 와 같은 기준)
+    // 날짜만 주면 from 은 그날 0시, to 는 그날 마지막 시각
+    private long parseDateBound(String value, boolean upper) {
+        if (value == null || value.isBlank()) {
+            return upper ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        try {
+            if (value.length() == 10) {
+                LocalDate date = LocalDate.parse(value);
+                LocalDateTime bound = upper ? date.plusDays(1).atStartOfDay().minusNanos(1) : date.atStartOfDay();
+                return bound.toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다: " + value);
+        }
+    }
+    
+    
+    // page size 보정: 0 이하면 기본값 10, 최대 filedb.page.max-size 로 제한
+    private int normalizeSize(int size) {
+        if (size <= 0) return 10;
+        return Math.min(size, maxPageSize);
     }
 
 }
@@ -0,0 +1,629 @@
+package com.example.filedb.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.dto.PostSuggestResponse;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.example.filedb.repository.FilePostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 검색창 자동완성 (GET /posts/suggest?q=)
+/*
+ * - 게시글 제목과 제목에 자주 나오는 용어를 접두어 트리(radix trie) 두 개에 올려 둠
+ *     제목 : 제목의 각 단어부터 끝까지(예: "스프링 게시판 만들기" -> "게시판 만들기", "만들기")도 키로 넣어서 중간 단어로도 찾음, 최신 글 우선
+ *     용어 : 그 용어가 들어간 제목 수가 많은 순
+ * - 한글은 자모 단위로 풀어서 비교 (한 -> ㅎㅏㄴ, 과 -> ㄱㅗㅏ, 닭 -> ㄷㅏㄹㄱ)
+ *   -> 입력 중인 글자로도 찾음 ("하" -> "한글", "하나" / "고" -> "과제", 과 = ㄱ ㅗ ㅏ)
+ *   -> 초성만 입력해도(ㄱㅅㅍ) 찾도록 초성 키도 함께 넣음
+ * - 트리의 각 노드가 그 아래 상위 K 개 항목을 들고 있으므로 조회는 질의 길이만큼 내려가서 바로 반환
+ * - 게시글 저장/삭제(PostChangedEvent) 시 해당 글의 키만 빼고 다시 넣음
+ * - 기동 시에는 IndexSnapshotService 가 인덱스 적재 후 rebuild (인덱스의 제목만 사용, 파일을 읽지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSuggestIndex {
+
+    private final FilePostRepository postRepository;
+
+    // 노드마다 들고 있는 상위 항목 수 (한 번에 돌려줄 수 있는 최대 개수)
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // 제목 하나에서 만드는 단어 시작 키 수, 키 최대 길이(자모 기준)
+    private static final int MAX_TITLE_KEYS = 4;
+    private static final int MAX_KEY_LENGTH = 48;
+
+    // 제목: 점수 = 게시글 ID (최신 글 우선)
+    private final Trie titles = new Trie(PostSuggestIndex::titleKeys);
+    private final Map<Long, Integer> titleEntries = new HashMap<>();
+
+    // 용어: 점수 = 그 용어가 들어간 제목 수
+    private final Trie terms = new Trie(PostSuggestIndex::termKeys);
+    private final Map<String, Integer> termEntries = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == PostChangedEvent.Type.SAVED) {
+                putTitle(event.getPostId(), event.getPost().getTitle());
+            } else {
+                removeTitle(event.getPostId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    // 대량 가져오기 배치 -> 쓰기 락을 한 번만 잡고 모두 반영
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (PostDto post : event.getPosts()) {
+                putTitle(post.getId(), post.getTitle());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    // 인덱스에 올라간 전체 제목으로 다시 구성 (기동 시)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            titles.clear();
+            titleEntries.clear();
+            terms.clear();
+            termEntries.clear();
+            postRepository.forEachTitle(this::putTitle);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * 접두어 q 로 시작하는 용어 / 제목 (각각 최대 limit 개).
+     * 공백 기준 단어 순서는 유지하고, 한글은 자모 단위로 비교한다.
+     */
+    public PostSuggestResponse suggest(String q, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        String key = toKey(normalize(q));
+        List<PostSuggestResponse.Term> termResult = new ArrayList<>();
+        List<PostSuggestResponse.Title> titleResult = new ArrayList<>();
+        if (key.isEmpty()) {
+            return new PostSuggestResponse(q, termResult, titleResult);
+        }
+
+        lock.readLock().lock();
+        try {
+            for (int entry : terms.top(key)) {
+                if (termResult.size() >= size) break;
+                termResult.add(new PostSuggestResponse.Term(terms.text(entry), terms.score(entry)));
+            }
+            for (int entry : titles.top(key)) {
+                if (titleResult.size() >= size) break;
+                titleResult.add(new PostSuggestResponse.Title(titles.score(entry), titles.text(entry)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PostSuggestResponse(q, termResult, titleResult);
+    }
+
+
+    // ===== 갱신 (write lock 안에서 호출) =====
+
+    private void putTitle(Long postId, String title) {
+        Integer current = titleEntries.get(postId);
+        if (current != null && titles.text(current).equals(title == null ? "" : title)) return;
+        removeTitle(postId);
+        if (title == null || normalize(title).isEmpty()) return;
+
+        titleEntries.put(postId, titles.add(title, postId));
+        for (String term : distinctTerms(title)) {
+            Integer entry = termEntries.get(term);
+            if (entry == null) {
+                termEntries.put(term, terms.add(term, 1));
+            } else {
+                terms.updateScore(entry, terms.score(entry) + 1);
+            }
+        }
+    }
+
+    private void removeTitle(Long postId) {
+        Integer entry = titleEntries.remove(postId);
+        if (entry == null) return;
+        String title = titles.text(entry);
+        titles.remove(entry);
+        for (String term : distinctTerms(title)) {
+            Integer termEntry = termEntries.get(term);
+            if (termEntry == null) continue;
+            long count = terms.score(termEntry) - 1;
+            if (count <= 0) {
+                termEntries.remove(term);
+                terms.remove(termEntry);
+            } else {
+                terms.updateScore(termEntry, count);
+            }
+        }
+    }
+
+    // 제목의 용어 (검색 색인과 같은 기준, 숫자만 / 한 글자 영문은 제외)
+    private static Set<String> distinctTerms(String title) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String token : PostSearchIndex.tokenize(title)) {
+            if (isSuggestibleTerm(token)) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSuggestibleTerm(String token) {
+        boolean digitsOnly = true;
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                digitsOnly = false;
+                break;
+            }
+        }
+        if (digitsOnly) return false;
+        return token.length() > 1 || isHangulSyllable(token.charAt(0));
+    }
+
+
+    // ===== 키 만들기 =====
+
+    // 제목 키: 단어 시작 위치부터 끝까지 (앞에서 MAX_TITLE_KEYS 개) + 각각의 초성 키
+    private static Set<String> titleKeys(String title) {
+        String[] words = normalize(title).split(" ");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.length && i < MAX_TITLE_KEYS; i++) {
+            String suffix = String.join(" ", Arrays.copyOfRange(words, i, words.length));
+            addKeys(keys, suffix);
+        }
+        return keys;
+    }
+
+    private static Set<String> termKeys(String term) {
+        Set<String> keys = new LinkedHashSet<>(4);
+        addKeys(keys, term);
+        return keys;
+    }
+
+    // 긴 키는 잘라 넣음 (잘린 키가 겹칠 수 있어 Set)
+    private static void addKeys(Set<String> keys, String text) {
+        keys.add(truncate(toKey(text)));
+        if (containsHangul(text)) {
+            keys.add(truncate(toChoseongKey(text)));
+        }
+    }
+
+    private static String truncate(String key) {
+        return (key.length() > MAX_KEY_LENGTH) ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    // 소문자 + 글자/숫자 외 문자는 공백 하나로
+    static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) sb.append(' ');
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+
+    // ===== 한글 자모 =====
+
+    private static final char HANGUL_BASE = 0xAC00;
+    private static final char HANGUL_LAST = 0xD7A3;
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    // 겹모음 / 겹받침은 입력 순서대로 풀어 둠 (과 = ㄱ + ㅗ + ㅏ -> "고" 입력 중에도 맞음)
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ" };
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ" };
+
+    // 낱자로 입력된 겹모음/겹받침 (ㅘ, ㄺ ...) -> 풀어 쓴 자모 (호환 자모 ㄱ(0x3131) ~ ㅣ(0x3163) 기준 위치)
+    private static final char JAMO_FIRST = 0x3131;
+    private static final String[] COMPOUND_JAMO = new String[0x3163 - JAMO_FIRST + 1];
+    static {
+        String medials = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+        for (int i = 0; i < MEDIAL_COUNT; i++) {
+            if (JUNGSEONG[i].length() > 1) COMPOUND_JAMO[medials.charAt(i) - JAMO_FIRST] = JUNGSEONG[i];
+        }
+        String finals = "ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+        for (int i = 1; i < FINAL_COUNT; i++) {
+            if (JONGSEONG[i].length() > 1) COMPOUND_JAMO[finals.charAt(i - 1) - JAMO_FIRST] = JONGSEONG[i];
+        }
+    }
+
+    private static boolean isHangulSyllable(char c) {
+        return c >= HANGUL_BASE && c <= HANGUL_LAST;
+    }
+
+    private static boolean containsHangul(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isHangulSyllable(text.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    // 비교용 키: 한글 음절은 초성/중성/종성 자모로 풀고 나머지는 그대로
+    static String toKey(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isHangulSyllable(c)) {
+                int index = c - HANGUL_BASE;
+                sb.append(CHOSEONG.charAt(index / (MEDIAL_COUNT * FINAL_COUNT)));
+                sb.append(JUNGSEONG[(index / FINAL_COUNT) % MEDIAL_COUNT]);
+                sb.append(JONGSEONG[index % FINAL_COUNT]);
+            } else if (c >= JAMO_FIRST && c - JAMO_FIRST < COMPOUND_JAMO.length && COMPOUND_JAMO[c - JAMO_FIRST] != null) {
+                sb.append(COMPOUND_JAMO[c - JAMO_FIRST]);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // 초성 키: 한글 음절은 초성만, 나머지는 그대로 ("스프링 게시판" -> "ㅅㅍㄹ ㄱㅅㅍ")
+    static String toChoseongKey(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isHangulSyllable(c) ? CHOSEONG.charAt((c - HANGUL_BASE) / (MEDIAL_COUNT * FINAL_COUNT)) : c);
+        }
+        return sb.toString();
+    }
+
+
+    // ===== 접두어 트리 =====
+
+    // 경로 압축 트리 + 노드별 상위 K 항목
+    /*
+     * - 항목(entry)은 정수 번호, 표시 문자열/점수는 배열에 보관 (지운 번호는 재사용)
+     * - 항목 하나가 여러 키를 가질 수 있음 (keysOf 로 표시 문자열에서 다시 계산, 중복 없음)
+     * - top : 이 노드 아래(자신 포함) 항목 중 점수가 높은 MAX_SUGGESTIONS 개 (점수 내림차순, 같으면 번호 오름차순)
+     *   추가/점수 상승은 경로의 노드마다 끼워 넣기만, 삭제/점수 하락은 그 항목이 들어 있던 노드만 자식 top 으로 다시 계산
+     */
+    private static final class Trie {
+
+        private static final char[] NO_CHARS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+        private static final int[] NO_ENTRIES = new int[0];
+
+        private static final class Node {
+            char[] edge = NO_CHARS;     // 부모에서 이 노드까지의 문자열
+            char[] labels = NO_CHARS;   // 자식 edge 의 첫 글자 (정렬)
+            Node[] children = NO_NODES;
+            int[] own = NO_ENTRIES;     // 키가 정확히 여기서 끝나는 항목 (앞의 ownCount 개, 같은 제목이 많을 수 있어 배열을 늘려 가며 씀)
+            int ownCount;
+            int[] top = NO_ENTRIES;
+
+            int childIndex(char c) {
+                return Arrays.binarySearch(labels, c);
+            }
+
+            void setChild(Node child) {
+                int i = childIndex(child.edge[0]);
+                if (i >= 0) {
+                    children[i] = child;
+                    return;
+                }
+                i = -(i + 1);
+                labels = insertAt(labels, i, child.edge[0]);
+                Node[] next = new Node[children.length + 1];
+                System.arraycopy(children, 0, next, 0, i);
+                next[i] = child;
+                System.arraycopy(children, i, next, i + 1, children.length - i);
+                children = next;
+            }
+
+            void removeChild(char c) {
+                int i = childIndex(c);
+                if (i < 0) return;
+                char[] nextLabels = new char[labels.length - 1];
+                System.arraycopy(labels, 0, nextLabels, 0, i);
+                System.arraycopy(labels, i + 1, nextLabels, i, labels.length - i - 1);
+                Node[] next = new Node[children.length - 1];
+                System.arraycopy(children, 0, next, 0, i);
+                System.arraycopy(children, i + 1, next, i, children.length - i - 1);
+                labels = nextLabels;
+                children = next;
+            }
+        }
+
+        private final Function<String, Set<String>> keysOf;
+        private Node root = new Node();
+
+        private String[] texts = new String[64];
+        private long[] scores = new long[64];
+        private int entryCount;
+        private int[] freeEntries = new int[16];
+        private int freeCount;
+
+        Trie(Function<String, Set<String>> keysOf) {
+            this.keysOf = keysOf;
+        }
+
+        String text(int entry) {
+            return texts[entry];
+        }
+
+        long score(int entry) {
+            return scores[entry];
+        }
+
+        void clear() {
+            root = new Node();
+            texts = new String[64];
+            scores = new long[64];
+            entryCount = 0;
+            freeCount = 0;
+        }
+
+        int add(String text, long score) {
+            int entry;
+            if (freeCount > 0) {
+                entry = freeEntries[--freeCount];
+            } else {
+                if (entryCount == texts.length) {
+                    texts = Arrays.copyOf(texts, entryCount * 2);
+                    scores = Arrays.copyOf(scores, entryCount * 2);
+                }
+                entry = entryCount++;
+            }
+            texts[entry] = text;
+            scores[entry] = score;
+            for (String key : keysOf.apply(text)) {
+                insert(key, entry);
+            }
+            return entry;
+        }
+
+        void remove(int entry) {
+            for (String key : keysOf.apply(texts[entry])) {
+                delete(key, entry);
+            }
+            texts[entry] = null;
+            if (freeCount == freeEntries.length) {
+                freeEntries = Arrays.copyOf(freeEntries, freeCount * 2);
+            }
+            freeEntries[freeCount++] = entry;
+        }
+
+        void updateScore(int entry, long score) {
+            long before = scores[entry];
+            scores[entry] = score;
+            for (String key : keysOf.apply(texts[entry])) {
+                List<Node> path = find(key);
+                if (path == null) continue;
+                if (score > before) {
+                    for (Node node : path) offer(node, entry);
+                } else {
+                    for (int i = path.size() - 1; i >= 0; i--) {
+                        Node node = path.get(i);
+                        if (contains(node.top, entry)) recompute(node);
+                    }
+                }
+            }
+        }
+
+        // 접두어 아래 상위 항목 (없으면 빈 배열)
+        int[] top(String prefix) {
+            Node node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                int index = node.childIndex(prefix.charAt(i));
+                if (index < 0) return NO_ENTRIES;
+                Node child = node.children[index];
+                int matched = commonPrefix(child.edge, prefix, i);
+                if (i + matched == prefix.length()) return child.top;
+                if (matched < child.edge.length) return NO_ENTRIES;
+                i += matched;
+                node = child;
+            }
+            return node.top;
+        }
+
+        private void insert(String key, int entry) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int i = 0;
+            while (i < key.length()) {
+                int index = node.childIndex(key.charAt(i));
+                if (index < 0) {
+                    Node leaf = new Node();
+                    leaf.edge = key.substring(i).toCharArray();
+                    node.setChild(leaf);
+                    node = leaf;
+                    path.add(node);
+                    i = key.length();
+                    break;
+                }
+                Node child = node.children[index];
+                int matched = commonPrefix(child.edge, key, i);
+                if (matched < child.edge.length) {
+                    // edge 중간에서 갈라짐 -> 가운데 노드를 만들어 나눔
+                    Node middle = new Node();
+                    middle.edge = Arrays.copyOf(child.edge, matched);
+                    child.edge = Arrays.copyOfRange(child.edge, matched, child.edge.length);
+                    middle.setChild(child);
+                    middle.top = child.top.clone();
+                    node.setChild(middle);
+                    child = middle;
+                }
+                node = child;
+                path.add(node);
+                i += matched;
+            }
+            if (node.ownCount == node.own.length) {
+                node.own = Arrays.copyOf(node.own, Math.max(2, node.ownCount * 2));
+            }
+            node.own[node.ownCount++] = entry;
+            for (Node step : path) {
+                offer(step, entry);
+            }
+        }
+
+        private void delete(String key, int entry) {
+            List<Node> path = find(key);
+            if (path == null) return;
+            Node end = path.get(path.size() - 1);
+            int ownIndex = -1;
+            for (int i = 0; i < end.ownCount; i++) {
+                if (end.own[i] == entry) {
+                    ownIndex = i;
+                    break;
+                }
+            }
+            if (ownIndex < 0) return;
+            end.own[ownIndex] = end.own[--end.ownCount];
+
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                if (contains(node.top, entry)) recompute(node);
+                if (i == 0) break;
+                Node parent = path.get(i - 1);
+                if (node.ownCount == 0 && node.children.length == 0) {
+                    parent.removeChild(node.edge[0]);
+                } else if (node.ownCount == 0 && node.children.length == 1) {
+                    // 자식 하나뿐인 빈 노드는 자식과 합침
+                    Node child = node.children[0];
+                    char[] merged = new char[node.edge.length + child.edge.length];
+                    System.arraycopy(node.edge, 0, merged, 0, node.edge.length);
+                    System.arraycopy(child.edge, 0, merged, node.edge.length, child.edge.length);
+                    child.edge = merged;
+                    parent.setChild(child);
+                }
+            }
+        }
+
+        // 키가 끝나는 노드까지의 경로 (키가 없으면 null)
+        private List<Node> find(String key) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            int i = 0;
+            while (i < key.length()) {
+                int index = node.childIndex(key.charAt(i));
+                if (index < 0) return null;
+                Node child = node.children[index];
+                int matched = commonPrefix(child.edge, key, i);
+                if (matched < child.edge.length) return null;
+                node = child;
+                path.add(node);
+                i += matched;
+            }
+            return path;
+        }
+
+        // 항목을 노드의 상위 목록에 반영 (이미 있으면 자리만 다시 잡음)
+        private void offer(Node node, int entry) {
+            int[] top = node.top;
+            int index = indexOf(top, entry);
+            if (index < 0) {
+                if (top.length >= MAX_SUGGESTIONS) {
+                    if (!better(entry, top[top.length - 1])) return;
+                    index = top.length - 1; // 꼴찌 자리에 넣고 위로 올림
+                } else {
+                    top = Arrays.copyOf(top, top.length + 1);
+                    index = top.length - 1;
+                    node.top = top;
+                }
+            }
+            // 제자리 삽입 정렬 (점수가 오르면 앞으로, 내려가면 뒤로)
+            while (index > 0 && better(entry, top[index - 1])) {
+                top[index] = top[index - 1];
+                index--;
+            }
+            while (index < top.length - 1 && better(top[index + 1], entry)) {
+                top[index] = top[index + 1];
+                index++;
+            }
+            top[index] = entry;
+        }
+
+        // 자기 항목 + 자식들의 상위 목록으로 다시 계산
+        private void recompute(Node node) {
+            node.top = NO_ENTRIES;
+            for (int i = 0; i < node.ownCount; i++) {
+                offer(node, node.own[i]);
+            }
+            for (Node child : node.children) {
+                for (int entry : child.top) {
+                    offer(node, entry);
+                }
+            }
+        }
+
+        private boolean better(int a, int b) {
+            if (scores[a] != scores[b]) return scores[a] > scores[b];
+            return a < b;
+        }
+
+        private static int commonPrefix(char[] edge, String key, int from) {
+            int n = Math.min(edge.length, key.length() - from);
+            int i = 0;
+            while (i < n && edge[i] == key.charAt(from + i)) i++;
+            return i;
+        }
+
+        private static boolean contains(int[] array, int value) {
+            return indexOf(array, value) >= 0;
+        }
+
+        private static int indexOf(int[] array, int value) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) return i;
+            }
+            return -1;
+        }
+
+        private static char[] insertAt(char[] array, int index, char value) {
+            char[] next = new char[array.length + 1];
+            System.arraycopy(array, 0, next, 0, index);
+            next[index] = value;
+            System.arraycopy(array, index, next, index + 1, array.length - index);
+            return next;
+        }
+    }
+}
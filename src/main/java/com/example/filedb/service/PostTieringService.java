@@ -0,0 +1,123 @@
+package com.example.filedb.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.TieringStatus;
+import com.example.filedb.repository.FilePostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 게시글 계층 저장 (핫: posts/ab/cd/{id}.json, 콜드: archive/segment-N.seg)
+/*
+ * - cold-after-days 동안 수정되지 않은 글을 주기적으로 모아 압축 세그먼트로 옮기고 핫 파일은 지움
+ *   (게시글마다 inode 하나 + 작은 파일 읽기 -> 세그먼트 하나에 수천 건)
+ * - 조회는 핫 파일이 없으면 아카이브에서 읽으므로 호출 측은 어느 쪽에 있는지 모름
+ * - 아카이브된 글을 수정하면 핫 파일로 저장되고 아카이브 항목은 무효 처리 (핫 영역으로 승격)
+ * - 한 번에 한 작업만 (주기 실행과 수동 실행이 겹치지 않게 synchronized)
+ */
+@Service
+@RequiredArgsConstructor
+public class PostTieringService {
+
+    private final FilePostRepository postRepository;
+
+    // 주기적 아카이브 실행 여부 (꺼져 있어도 /admin/tiering/run 으로 수동 실행 가능)
+    @Value("${filedb.tiering.enabled:false}")
+    private boolean enabled;
+
+    // 이 기간 동안 수정되지 않은 글을 아카이브
+    @Value("${filedb.tiering.cold-after-days:30}")
+    private long coldAfterDays;
+
+    // 주기 실행 간격
+    @Value("${filedb.tiering.interval-ms:3600000}")
+    private long intervalMs;
+
+    // 세그먼트 하나에 담을 최대 게시글 수
+    @Value("${filedb.tiering.segment-max-posts:10000}")
+    private int segmentMaxPosts;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+    private volatile long lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile long lastArchived;
+    private volatile long lastReconciled;
+
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "filedb-tiering");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+
+    /**
+     * 아카이브 한 번 실행 (이전 실행이 중단되며 남긴 중복 정리 -> 오래된 글을 세그먼트 단위로 이동).
+     */
+    public synchronized TieringStatus run() {
+        running = true;
+        long start = System.currentTimeMillis();
+        try {
+            lastReconciled = postRepository.reconcileArchive();
+
+            List<Long> ids = postRepository.findColdPostIds(Duration.ofDays(coldAfterDays));
+            int chunk = Math.max(1, segmentMaxPosts);
+            long archived = 0;
+            for (int from = 0; from < ids.size(); from += chunk) {
+                archived += postRepository.archivePosts(ids.subList(from, Math.min(ids.size(), from + chunk)));
+            }
+            lastArchived = archived;
+        } finally {
+            lastRunAt = start;
+            lastRunMillis = System.currentTimeMillis() - start;
+            running = false;
+        }
+        return status();
+    }
+
+
+    public TieringStatus status() {
+        return new TieringStatus(
+                enabled,
+                running,
+                coldAfterDays,
+                postRepository.archiveStats(),
+                lastArchived,
+                lastReconciled,
+                lastRunAt,
+                lastRunMillis);
+    }
+
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (Exception e) {
+            System.err.println("[PostTieringService] 아카이브 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.filedb.service;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.dto.SearchCacheStats;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+import com.example.filedb.repository.FilePostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// 검색 결과 캐시: 정규화된 검색어 -> 매칭 게시글 ID 목록 (최신 글 순)
+/*
+ * - 같은 검색어는 페이지가 달라도 전체 스캔 없이 ID 목록에서 잘라서 응답
+ * - 게시글 저장/삭제(PostChangedEvent) 시 캐시된 검색어마다 매칭 여부를 다시 판단해서
+ *   ID 를 넣거나 빼는 방식으로 결과를 고침 (전체 무효화 X)
+ * - 검색어 개수는 max-entries 로 제한 (LRU)
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    private final FilePostRepository postRepository;
+
+    @Value("${filedb.search-cache.max-entries:256}")
+    private int maxEntries;
+
+    // 검색어 -> ID 배열 (내림차순). 배열은 불변으로 취급하고 고칠 때는 새 배열로 교체
+    private final LinkedHashMap<String, long[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 게시글 변경마다 증가. 캐시 미스 계산 도중 변경이 있었으면 그 결과는 캐시하지 않음
+    private long generation = 0;
+
+    private long hits;
+    private long misses;
+    private long patches;
+    private long evictions;
+
+
+    // 검색어 정규화 (Repository 의 매칭 기준과 동일하게 소문자)
+    public static String normalize(String keyword) {
+        return keyword.toLowerCase();
+    }
+
+
+    /**
+     * 검색어에 매칭되는 게시글 ID 목록 (최신 글 순).
+     * 캐시에 없으면 전체 스캔으로 계산해서 채운다.
+     */
+    public long[] getIds(String keyword) {
+        String key = normalize(keyword);
+        long startGeneration;
+
+        synchronized (this) {
+            long[] cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            startGeneration = generation;
+        }
+
+        // 스캔은 락 밖에서
+        List<Long> found = postRepository.searchPostIds(key);
+        long[] ids = new long[found.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = found.get(i);
+        }
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, ids);
+                evictIfNeeded();
+            }
+        }
+        return ids;
+    }
+
+
+    // 게시글 변경 -> 캐시된 검색어마다 해당 ID 를 넣거나 뺌
+    @EventListener
+    public synchronized void onPostChanged(PostChangedEvent event) {
+        generation++;
+        if (entries.isEmpty()) return;
+
+        long id = event.getPostId();
+        PostDto post = event.getPost();
+
+        // 소문자 변환은 이벤트당 한 번만
+        String lowerTitle = (post != null && post.getTitle() != null) ? post.getTitle().toLowerCase() : null;
+        String lowerContent = (post != null && post.getContent() != null) ? post.getContent().toLowerCase() : null;
+
+        for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            boolean matches = post != null
+                    && ((lowerTitle != null && lowerTitle.contains(key))
+                        || (lowerContent != null && lowerContent.contains(key)));
+
+            long[] ids = entry.getValue();
+            int pos = indexOf(ids, id);
+            if (matches && pos < 0) {
+                entry.setValue(insert(ids, -(pos + 1), id));
+                patches++;
+            } else if (!matches && pos >= 0) {
+                entry.setValue(remove(ids, pos));
+                patches++;
+            }
+        }
+    }
+
+
+    // 대량 가져오기 -> 건마다 검색어 전체를 고치는 대신 캐시를 비움 (다음 검색 때 다시 채움)
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        clear();
+    }
+
+
+    public synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+
+    public synchronized SearchCacheStats stats() {
+        long bytes = 0;
+        for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+            // 배열 헤더 + ID + 검색어 문자열 대략치
+            bytes += 16 + (long) entry.getValue().length * Long.BYTES + 40 + entry.getKey().length() * 2L;
+        }
+        long total = hits + misses;
+        return new SearchCacheStats(
+                entries.size(),
+                maxEntries,
+                bytes,
+                hits,
+                misses,
+                total == 0 ? 0.0 : (double) hits / total,
+                patches,
+                evictions);
+    }
+
+
+    private void evictIfNeeded() {
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+
+    // 내림차순 배열에서 이진 탐색 (없으면 -(삽입 위치) - 1)
+    private static int indexOf(long[] ids, long id) {
+        int low = 0;
+        int high = ids.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] > id) {
+                low = mid + 1;
+            } else if (ids[mid] < id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static long[] insert(long[] ids, int pos, long id) {
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        result[pos] = id;
+        System.arraycopy(ids, pos, result, pos + 1, ids.length - pos);
+        return result;
+    }
+
+    private static long[] remove(long[] ids, int pos) {
+        long[] result = Arrays.copyOf(ids, ids.length - 1);
+        System.arraycopy(ids, pos + 1, result, pos, ids.length - pos - 1);
+        return result;
+    }
+}
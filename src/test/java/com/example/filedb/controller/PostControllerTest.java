@@ -0,0 +1,208 @@
+package com.example.filedb.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// 게시글 수정의 버전 비교 (If-Match / 본문 version), 스냅샷 토큰 목록 페이징
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerTest {
+
+	@TempDir
+	static Path dir;
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("filedb.base-path", () -> dir.resolve("data").toString());
+		registry.add("filedb.upload-path", () -> dir.resolve("uploads").toString());
+		registry.add("filedb.watch.enabled", () -> "false");
+		registry.add("filedb.snapshot.enabled", () -> "false");
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static String body(String title, Long version) {
+		return "{\"title\":\"" + title + "\",\"content\":\"내용\",\"writer\":\"작성자\""
+				+ (version == null ? "" : ",\"version\":" + version) + "}";
+	}
+
+	private long create() throws Exception {
+		String json = mockMvc.perform(post("/posts")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body("처음", null)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		JsonNode node = objectMapper.readTree(json);
+		return node.get("id").asLong();
+	}
+
+	private MockHttpServletRequestBuilder update(long id, String title, Long version) {
+		return put("/posts/" + id)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body(title, version));
+	}
+
+
+	@Test
+	void acceptsEveryIfMatchForm() throws Exception {
+		long id = create();
+
+		mockMvc.perform(update(id, "둘", null).header(HttpHeaders.IF_MATCH, "\"1\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+				.andExpect(jsonPath("$.version").value(2));
+		mockMvc.perform(update(id, "셋", null).header(HttpHeaders.IF_MATCH, "W/\"2\""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(3));
+		mockMvc.perform(update(id, "넷", null).header(HttpHeaders.IF_MATCH, "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(4));
+		// * 는 버전 비교 없음 (본문 version 도 없으면 현재 버전 기준)
+		mockMvc.perform(update(id, "다섯", null).header(HttpHeaders.IF_MATCH, "*"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(5))
+				.andExpect(jsonPath("$.title").value("다섯"));
+	}
+
+	@Test
+	void staleVersionIsRejectedWithConflict() throws Exception {
+		long id = create();
+		mockMvc.perform(update(id, "먼저", null).header(HttpHeaders.IF_MATCH, "\"1\""))
+				.andExpect(status().isOk());
+
+		// 같은 버전으로 다시 고치면 409, 내용은 그대로
+		mockMvc.perform(update(id, "나중", null).header(HttpHeaders.IF_MATCH, "\"1\""))
+				.andExpect(status().isConflict());
+		// 본문 version 도 같은 방식으로 비교
+		mockMvc.perform(update(id, "나중", 1L))
+				.andExpect(status().isConflict());
+		mockMvc.perform(update(id, "나중", 2L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(3));
+		// If-Match 가 본문 version 보다 우선
+		mockMvc.perform(update(id, "또", 3L).header(HttpHeaders.IF_MATCH, "\"2\""))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void concurrentUpdatesOnSameVersionHaveOneWinner() throws Exception {
+		long id = create();
+		int threads = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				String title = "동시" + i;
+				results.add(pool.submit(() -> mockMvc.perform(update(id, title, null).header(HttpHeaders.IF_MATCH, "\"1\""))
+						.andReturn().getResponse().getStatus()));
+			}
+			int ok = 0;
+			int conflict = 0;
+			for (Future<Integer> result : results) {
+				int status = result.get();
+				if (status == 200) ok++;
+				else if (status == 409) conflict++;
+			}
+			assertEquals(1, ok);
+			assertEquals(threads - 1, conflict);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void updateWithoutVersionOverwritesCurrent() throws Exception {
+		long id = create();
+		mockMvc.perform(update(id, "둘", null))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(2));
+		mockMvc.perform(update(id, "셋", null))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+	}
+
+	@Test
+	void snapshotPagesPinIdsButReadCurrentContent() throws Exception {
+		for (int i = 0; i < 6; i++) {
+			create();
+		}
+		JsonNode first = getJson(get("/posts").param("size", "3"));
+		String token = first.get("snapshot").asText();
+		List<Long> firstIds = ids(first);
+		List<Long> secondIds = ids(getJson(get("/posts").param("size", "3").param("page", "1").param("snapshot", token)));
+
+		mockMvc.perform(delete("/posts/" + firstIds.get(1))).andExpect(status().isOk());
+		mockMvc.perform(update(firstIds.get(0), "수정됨", null)).andExpect(status().isOk());
+		create();
+
+		// 삭제된 자리는 비고(다음 ID 로 채우지 않음), 수정된 글은 최신 내용, 새 글은 끼지 않음
+		JsonNode pinned = getJson(get("/posts").param("size", "3").param("snapshot", token));
+		assertEquals(List.of(firstIds.get(0), firstIds.get(2)), ids(pinned));
+		assertEquals("수정됨", pinned.get("content").get(0).get("title").asText());
+		assertEquals(secondIds, ids(getJson(get("/posts").param("size", "3").param("page", "1").param("snapshot", token))));
+	}
+
+	private JsonNode getJson(MockHttpServletRequestBuilder request) throws Exception {
+		String json = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		return objectMapper.readTree(json);
+	}
+
+	private static List<Long> ids(JsonNode page) {
+		List<Long> ids = new ArrayList<>();
+		for (JsonNode post : page.get("content")) {
+			ids.add(post.get("id").asLong());
+		}
+		return ids;
+	}
+
+	@Test
+	void missingPostIsNotFound() throws Exception {
+		mockMvc.perform(update(987_654_321L, "없음", null))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(update(987_654_321L, "없음", null).header(HttpHeaders.IF_MATCH, "\"1\""))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void malformedIfMatchIsBadRequest() throws Exception {
+		long id = create();
+		for (String ifMatch : new String[] { "abc", "\"1", "W/", "\"\"", "1, 2" }) {
+			mockMvc.perform(update(id, "바꿈", null).header(HttpHeaders.IF_MATCH, ifMatch))
+					.andExpect(status().isBadRequest());
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.filedb.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveSegmentTest {
+
+	@TempDir
+	Path dir;
+
+	private static byte[] json(long id, int bodyLength) {
+		return ("{\"id\":" + id + ",\"content\":\"" + "x".repeat(bodyLength) + "\"}").getBytes(StandardCharsets.UTF_8);
+	}
+
+
+	@Test
+	void writeThenReadEveryEntryAcrossBlocks() throws IOException {
+		Random random = new Random(3);
+		List<ArchiveSegment.Entry> entries = new ArrayList<>();
+		for (long id = 10; id < 1010; id++) {
+			entries.add(new ArchiveSegment.Entry(id, json(id, random.nextInt(400))));
+		}
+		// 블록 하나(64KB)보다 큰 항목도 섞음
+		entries.add(new ArchiveSegment.Entry(5000, json(5000, 200_000)));
+
+		Path path = dir.resolve("segment-1.seg");
+		ArchiveSegment.write(path, entries);
+		ArchiveSegment segment = ArchiveSegment.open(1, path);
+
+		assertEquals(entries.size(), segment.size());
+		assertEquals(1, segment.number());
+		assertTrue(segment.fileSize() < 200_000, "여러 게시글을 묶은 블록 압축");
+
+		// 순서를 섞어 읽어도 (마지막 블록 재사용과 무관하게) 같은 내용
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < entries.size(); i++) order.add(i);
+		java.util.Collections.shuffle(order, random);
+		for (int i : order) {
+			ArchiveSegment.Entry entry = entries.get(i);
+			int pos = segment.positionOf(entry.id());
+			assertEquals(i, pos);
+			assertEquals(entry.id(), segment.idAt(pos));
+			assertEquals(entry.json().length, segment.lengthAt(pos));
+			assertArrayEquals(entry.json(), segment.read(pos));
+		}
+		assertTrue(segment.positionOf(9) < 0);
+		assertTrue(segment.positionOf(1010) < 0);
+	}
+
+	@Test
+	void emptySegmentRoundTrips() throws IOException {
+		Path path = dir.resolve("segment-1.seg");
+		ArchiveSegment.write(path, List.of());
+		ArchiveSegment segment = ArchiveSegment.open(1, path);
+		assertEquals(0, segment.size());
+		assertEquals(0, segment.liveCount());
+	}
+
+	@Test
+	void deadMarksAreCounted() throws IOException {
+		Path path = dir.resolve("segment-1.seg");
+		ArchiveSegment.write(path, List.of(
+				new ArchiveSegment.Entry(1, json(1, 10)),
+				new ArchiveSegment.Entry(2, json(2, 10))));
+		ArchiveSegment segment = ArchiveSegment.open(1, path);
+		segment.markDead(segment.positionOf(1));
+		assertTrue(segment.isDead(0));
+		assertEquals(1, segment.liveCount());
+	}
+
+	@Test
+	void truncatedOrForeignFileIsRejected() throws IOException {
+		Path path = dir.resolve("segment-1.seg");
+		ArchiveSegment.write(path, List.of(new ArchiveSegment.Entry(1, json(1, 1000))));
+		byte[] bytes = Files.readAllBytes(path);
+
+		Path truncated = dir.resolve("segment-2.seg");
+		Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 5));
+		assertThrows(IOException.class, () -> ArchiveSegment.open(2, truncated));
+
+		Path foreign = dir.resolve("segment-3.seg");
+		Files.write(foreign, "not a segment file".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IOException.class, () -> ArchiveSegment.open(3, foreign));
+	}
+}
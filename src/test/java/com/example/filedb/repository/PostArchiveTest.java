@@ -0,0 +1,123 @@
+package com.example.filedb.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PostArchiveTest {
+
+	@TempDir
+	Path dir;
+
+	private static ArchiveSegment.Entry entry(long id, String title) {
+		return new ArchiveSegment.Entry(id, ("{\"id\":" + id + ",\"title\":\"" + title + "\"}").getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(PostArchive archive, long id) throws IOException {
+		PostArchive.Location location = archive.locate(id);
+		return (location == null) ? null : new String(archive.read(location), StandardCharsets.UTF_8);
+	}
+
+	private static List<Long> liveIds(PostArchive archive) {
+		List<Long> ids = new ArrayList<>();
+		for (PostArchive.Location location : archive.liveLocations()) {
+			ids.add(location.id());
+		}
+		return ids;
+	}
+
+
+	@Test
+	void appendedEntriesAreReadableAndSurviveReload() throws IOException {
+		PostArchive archive = new PostArchive(dir);
+		archive.load();
+		archive.append(List.of(entry(1, "a"), entry(2, "b"), entry(3, "c")));
+		archive.append(List.of(entry(7, "g")));
+
+		assertEquals("{\"id\":2,\"title\":\"b\"}", read(archive, 2));
+		assertEquals(2, archive.segmentCount());
+		assertEquals(4, archive.liveCount());
+
+		PostArchive reloaded = new PostArchive(dir);
+		reloaded.load();
+		assertEquals(List.of(1L, 2L, 3L, 7L), liveIds(reloaded));
+		assertEquals("{\"id\":7,\"title\":\"g\"}", read(reloaded, 7));
+		assertNull(read(reloaded, 4));
+	}
+
+	@Test
+	void supersedeHidesEntryAndIsPersisted() throws IOException {
+		PostArchive archive = new PostArchive(dir);
+		archive.load();
+		archive.append(List.of(entry(1, "a"), entry(2, "b")));
+
+		assertTrue(archive.supersede(1));
+		assertFalse(archive.supersede(1));
+		assertFalse(archive.supersede(99));
+		assertNull(archive.locate(1));
+		assertEquals(List.of(2L), liveIds(archive));
+
+		PostArchive reloaded = new PostArchive(dir);
+		reloaded.load();
+		assertNull(reloaded.locate(1));
+		assertEquals(1, reloaded.liveCount());
+	}
+
+	@Test
+	void newestSegmentWinsAfterRearchive() throws IOException {
+		PostArchive archive = new PostArchive(dir);
+		archive.load();
+		archive.append(List.of(entry(1, "old"), entry(2, "b")));
+		// 승격(무효 처리) 후 수정된 내용으로 다시 아카이브
+		archive.supersede(1);
+		ArchiveSegment second = archive.append(List.of(entry(1, "new")));
+
+		assertEquals("{\"id\":1,\"title\":\"new\"}", read(archive, 1));
+		assertEquals(second, archive.locate(1).segment());
+		assertEquals(List.of(1L, 2L), liveIds(archive));
+
+		// 다시 무효 처리하면 예전 세그먼트의 항목이 살아나지 않음
+		archive.supersede(1);
+		assertNull(archive.locate(1));
+		PostArchive reloaded = new PostArchive(dir);
+		reloaded.load();
+		assertNull(reloaded.locate(1));
+		assertEquals(List.of(2L), liveIds(reloaded));
+	}
+
+	@Test
+	void loadDropsTempFilesAndSkipsBrokenSegments() throws IOException {
+		PostArchive archive = new PostArchive(dir);
+		archive.load();
+		archive.append(List.of(entry(1, "a")));
+		Files.writeString(dir.resolve("segment-5.seg.tmp"), "partial");
+		Files.writeString(dir.resolve("segment-6.seg"), "broken");
+
+		PostArchive reloaded = new PostArchive(dir);
+		reloaded.load();
+		assertFalse(Files.exists(dir.resolve("segment-5.seg.tmp")));
+		assertEquals(1, reloaded.segmentCount());
+		assertEquals("{\"id\":1,\"title\":\"a\"}", read(reloaded, 1));
+	}
+
+	@Test
+	void missingDirectoryIsEmptyArchive() throws IOException {
+		PostArchive archive = new PostArchive(dir.resolve("none"));
+		archive.load();
+		assertEquals(0, archive.segmentCount());
+		assertNull(archive.locate(1));
+		assertEquals(List.of(), liveIds(archive));
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.filedb.repository;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PostFileWatcherTest {
+
+	@TempDir
+	Path dir;
+
+	private FilePostRepository postRepository;
+	private EditorImageIndex editorImageIndex;
+	private PostFileWatcher watcher;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Path postsDir = Files.createDirectories(dir.resolve("posts"));
+		Path editorDir = Files.createDirectories(dir.resolve("editor"));
+		postRepository = mock(FilePostRepository.class);
+		editorImageIndex = mock(EditorImageIndex.class);
+		when(postRepository.getPostsDir()).thenReturn(postsDir);
+		when(editorImageIndex.getEditorDir()).thenReturn(editorDir.toFile());
+
+		watcher = new PostFileWatcher(postRepository, editorImageIndex);
+		ReflectionTestUtils.setField(watcher, "enabled", true);
+		ReflectionTestUtils.setField(watcher, "debounceMs", 50L);
+		ReflectionTestUtils.setField(watcher, "maxDelayMs", 500L);
+		ReflectionTestUtils.setField(watcher, "rescanIntervalMs", 60_000L);
+		watcher.start();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		watcher.stop();
+	}
+
+
+	@Test
+	void failedRefreshDoesNotStopWatching() throws IOException {
+		doThrow(new RuntimeException("읽기 실패")).when(postRepository).refreshPost(1L);
+		doThrow(new RuntimeException("읽기 실패")).when(editorImageIndex).refresh("a.png");
+
+		Files.writeString(dir.resolve("posts/1.json"), "{}");
+		Files.writeString(dir.resolve("posts/2.json"), "{}");
+		Files.writeString(dir.resolve("editor/a.png"), "x");
+		// 같은 묶음의 다른 파일은 반영됨
+		verify(postRepository, timeout(5000)).refreshPost(1L);
+		verify(postRepository, timeout(5000)).refreshPost(2L);
+		verify(editorImageIndex, timeout(5000)).refresh("a.png");
+
+		// 실패 뒤에도 감시 스레드가 살아 있음
+		Files.writeString(dir.resolve("posts/3.json"), "{}");
+		Files.writeString(dir.resolve("editor/b.png"), "x");
+		verify(postRepository, timeout(5000)).refreshPost(3L);
+		verify(editorImageIndex, timeout(5000)).refresh("b.png");
+	}
+
+	@Test
+	void newShardDirectoryIsWatched() throws IOException {
+		Path shard = Files.createDirectories(dir.resolve("posts/00/00"));
+		Files.writeString(shard.resolve("5.json"), "{}");
+		verify(postRepository, timeout(5000)).refreshPost(5L);
+
+		Files.writeString(shard.resolve("6.json"), "{}");
+		verify(postRepository, timeout(5000)).refreshPost(6L);
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.filedb.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.filedb.dto.PostDto;
+
+class PostIndexTest {
+
+	private final PostIndex index = new PostIndex();
+
+	private static PostDto post(long id, String title, String writer, String createdAt) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setTitle(title);
+		post.setWriter(writer);
+		post.setCreatedAt(createdAt);
+		post.setUpdatedAt(createdAt);
+		post.setVersion(1L);
+		return post;
+	}
+
+
+	@Test
+	void repeatedLargeTitleUpdatesKeepTitleAndSecondaryIndex() {
+		index.put(post(1, "first", "kim", "2024-01-01T00:00:00"), 1L, 1L);
+		// 초기 제목 영역(64KB)보다 큰 제목으로 같은 글을 반복 수정
+		for (int round = 1; round <= 50; round++) {
+			String title = String.valueOf((char) ('a' + round % 26)).repeat(40_000 * (1 + round % 4));
+			index.put(post(1, title, "kim", "2024-01-01T00:00:00"), round, round);
+
+			assertEquals(title, index.get(1L).getTitle());
+			IdPage page = index.findByTime("kim", false, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10);
+			assertEquals(1, page.total());
+			assertEquals(List.of(1L), page.ids());
+		}
+	}
+
+	@Test
+	void titlesSurviveCompactionAcrossManyPosts() {
+		for (long id = 1; id <= 200; id++) {
+			index.put(post(id, "title-" + id, "w", "2024-01-01T00:00:00"), 1L, 1L);
+		}
+		// 수정/삭제로 garbage 를 만든 뒤 큰 제목으로 압축을 유도
+		for (long id = 1; id <= 200; id += 2) {
+			index.put(post(id, "updated-" + id + "-" + "x".repeat(1000), "w", "2024-01-01T00:00:00"), 2L, 2L);
+		}
+		for (long id = 2; id <= 200; id += 4) {
+			index.remove(id);
+		}
+		index.put(post(500, "y".repeat(300_000), "w", "2024-01-01T00:00:00"), 1L, 1L);
+
+		for (long id = 1; id <= 200; id++) {
+			PostMeta meta = index.get(id);
+			if (id % 2 == 1) {
+				assertEquals("updated-" + id + "-" + "x".repeat(1000), meta.getTitle());
+			} else if (id % 4 == 2) {
+				assertNull(meta);
+			} else {
+				assertEquals("title-" + id, meta.getTitle());
+			}
+		}
+		assertEquals(300_000, index.get(500L).getTitle().length());
+	}
+
+	@Test
+	void nullAndEmptyTitles() {
+		index.put(post(1, null, "w", null), 1L, 1L);
+		index.put(post(2, "", "w", null), 1L, 1L);
+		assertNull(index.get(1L).getTitle());
+		assertEquals("", index.get(2L).getTitle());
+		index.put(post(1, "now set", "w", null), 2L, 2L);
+		assertEquals("now set", index.get(1L).getTitle());
+	}
+
+	@Test
+	void findByTimeFiltersByWriterAndPagesNewestFirst() {
+		for (long id = 1; id <= 30; id++) {
+			String day = String.format("2024-01-%02dT00:00:00", id);
+			index.put(post(id, "t" + id, (id % 3 == 0) ? "lee" : "kim", day), 1L, 1L);
+		}
+		long from = PostMeta.toEpochMillis("2024-01-10T00:00:00");
+		long to = PostMeta.toEpochMillis("2024-01-20T00:00:00");
+
+		IdPage all = index.findByTime(null, false, from, to, 0, 5);
+		assertEquals(11, all.total());
+		assertEquals(List.of(20L, 19L, 18L, 17L, 16L), all.ids());
+		assertEquals(List.of(15L, 14L, 13L, 12L, 11L), index.findByTime(null, false, from, to, 5, 5).ids());
+		assertEquals(List.of(10L), index.findByTime(null, false, from, to, 10, 5).ids());
+		assertEquals(List.of(), index.findByTime(null, false, from, to, 11, 5).ids());
+
+		IdPage lee = index.findByTime("lee", false, from, to, 0, 10);
+		assertEquals(3, lee.total());
+		assertEquals(List.of(18L, 15L, 12L), index.findByTime("lee", false, from, to, 0, 3).ids());
+		assertEquals(0, index.findByTime("nobody", false, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10).total());
+	}
+
+	@Test
+	void findByTimeFollowsUpdatedAtAndWriterChanges() {
+		index.put(post(1, "a", "kim", "2024-01-01T00:00:00"), 1L, 1L);
+		index.put(post(2, "b", "kim", "2024-01-02T00:00:00"), 1L, 1L);
+		PostDto edited = post(1, "a2", "lee", "2024-01-01T00:00:00");
+		edited.setUpdatedAt("2024-02-01T00:00:00");
+		index.put(edited, 2L, 2L);
+
+		long feb = PostMeta.toEpochMillis("2024-02-01T00:00:00");
+		assertEquals(List.of(1L), index.findByTime(null, true, feb, feb, 0, 10).ids());
+		assertEquals(0, index.findByTime(null, false, feb, feb, 0, 10).total());
+		assertEquals(List.of(2L), index.findByTime("kim", false, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10).ids());
+		assertEquals(List.of(1L), index.findByTime("lee", true, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10).ids());
+
+		index.remove(1L);
+		assertEquals(0, index.findByTime("lee", true, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10).total());
+	}
+
+	@Test
+	void snapshotPublishesDeletesLazilyAndKeepsOldViews() {
+		for (long id = 1; id <= 5; id++) {
+			index.put(post(id, "t", "w", null), 1L, 1L);
+		}
+		PostListSnapshot before = index.snapshot();
+		assertEquals(List.of(5L, 4L, 3L, 2L, 1L), before.page(0, 10));
+
+		index.remove(2L);
+		index.remove(4L);
+		PostListSnapshot after = index.snapshot();
+		assertEquals(List.of(5L, 3L, 1L), after.page(0, 10));
+		assertEquals(3, index.size());
+		// 다음 조회는 같은 스냅샷 (연속 삭제는 한 번만 발행)
+		assertSame(after, index.snapshot());
+		// 이전 스냅샷은 그대로
+		assertEquals(List.of(5L, 4L, 3L, 2L, 1L), before.page(0, 10));
+
+		// 삭제 후 맨 끝 추가
+		index.remove(3L);
+		index.put(post(6, "t", "w", null), 1L, 1L);
+		assertEquals(List.of(6L, 5L, 1L), index.snapshot().page(0, 10));
+		// 중간 삽입
+		index.put(post(4, "t", "w", null), 1L, 1L);
+		assertEquals(List.of(6L, 5L, 4L, 1L), index.snapshot().page(0, 10));
+		assertEquals(List.of(5L, 3L, 1L), after.page(0, 10));
+	}
+
+	@Test
+	void idArrayIsAscendingCopy() {
+		index.put(post(30, "c", "w", null), 1L, 1L);
+		index.put(post(10, "a", "w", null), 1L, 1L);
+		index.put(post(20, "b", "w", null), 1L, 1L);
+		long[] ids = index.idArray();
+		assertArrayEquals(new long[] { 10, 20, 30 }, ids);
+		index.remove(20L);
+		assertArrayEquals(new long[] { 10, 20, 30 }, ids);
+		assertArrayEquals(new long[] { 10, 30 }, index.idArray());
+	}
+}
@@ -0,0 +1,196 @@
+package com.example.filedb.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class TimeIndexTest {
+
+	private record Entry(int group, long time, long id) {}
+
+	private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::group)
+			.thenComparingLong(Entry::time)
+			.thenComparingLong(Entry::id);
+
+	// 비교용: 같은 조건을 정렬 집합에서 그대로 계산
+	private static List<Long> expectedPage(TreeSet<Entry> model, int group, long from, long to, int offset, int limit) {
+		List<Entry> range = new ArrayList<>(model.subSet(
+				new Entry(group, from, Long.MIN_VALUE), true, new Entry(group, to, Long.MAX_VALUE), true));
+		List<Long> ids = new ArrayList<>();
+		for (int i = range.size() - 1 - offset; i >= 0 && ids.size() < limit; i--) {
+			ids.add(range.get(i).id());
+		}
+		return ids;
+	}
+
+	private static long expectedCount(TreeSet<Entry> model, int group, long from, long to) {
+		if (from > to) return 0;
+		return model.subSet(new Entry(group, from, Long.MIN_VALUE), true,
+				new Entry(group, to, Long.MAX_VALUE), true).size();
+	}
+
+
+	@Test
+	void rangeBoundsAreInclusive() {
+		TimeIndex index = new TimeIndex();
+		index.add(0, 100, 1);
+		index.add(0, 200, 2);
+		index.add(0, 200, 3);
+		index.add(0, 300, 4);
+		index.add(1, 200, 5);
+
+		assertEquals(3, index.count(0, 200, 300));
+		assertEquals(List.of(4L, 3L, 2L), index.pageDescending(0, 200, 300, 0, 10));
+		assertEquals(2, index.count(0, 200, 200));
+		assertEquals(List.of(3L, 2L), index.pageDescending(0, 200, 200, 0, 10));
+		assertEquals(0, index.count(0, 101, 199));
+		assertEquals(List.of(), index.pageDescending(0, 101, 199, 0, 10));
+		// 다른 그룹은 섞이지 않음
+		assertEquals(1, index.count(1, Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(0, index.count(2, Long.MIN_VALUE, Long.MAX_VALUE));
+		// from > to
+		assertEquals(0, index.count(0, 300, 100));
+		assertEquals(List.of(), index.pageDescending(0, 300, 100, 0, 10));
+	}
+
+	@Test
+	void pagingWalksBackwardsAcrossBlocks() {
+		TimeIndex index = new TimeIndex();
+		for (long id = 1; id <= 3000; id++) {
+			index.add(0, id * 10, id);
+		}
+		assertEquals(3000, index.count(0, Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(List.of(3000L, 2999L, 2998L), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 0, 3));
+		assertEquals(List.of(2000L, 1999L), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 1000, 2));
+		assertEquals(List.of(1L), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 2999, 10));
+		assertEquals(List.of(), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 3000, 10));
+		assertEquals(List.of(), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE, 10));
+		// 범위 [5000, 5100] -> id 500..510
+		assertEquals(11, index.count(0, 5000, 5100));
+		assertEquals(List.of(505L, 504L, 503L, 502L, 501L, 500L), index.pageDescending(0, 5000, 5100, 5, 10));
+	}
+
+	@Test
+	void deepPagesAcrossManyBlocksMatchSortedModel() {
+		// 무작위 순서로 넣어 블록이 여러 번 나뉜 상태 (항목 100k -> 블록 수백 개)
+		Random random = new Random(11);
+		TimeIndex index = new TimeIndex();
+		List<Long> ids = new ArrayList<>();
+		for (long id = 1; id <= 100_000; id++) ids.add(id);
+		java.util.Collections.shuffle(ids, random);
+		for (long id : ids) {
+			index.add((int) (id % 3), id * 10, id);
+		}
+		// 앞쪽 블록을 비워서 블록 삭제 후에도 위치가 맞는지
+		for (long id = 1; id <= 3000; id++) {
+			index.remove((int) (id % 3), id * 10, id);
+		}
+
+		// 그룹 1: id 3001..100000 중 id % 3 == 1 -> 최신 순으로 offset 번째는 100000 - 3 * offset
+		int total = (int) index.count(1, Long.MIN_VALUE, Long.MAX_VALUE);
+		assertEquals(32_334, total);
+		for (int offset : new int[] { 0, 511, 512, 10_000, 20_000, 32_000, total - 3 }) {
+			List<Long> expected = new ArrayList<>();
+			for (int i = offset; i < Math.min(total, offset + 5); i++) {
+				expected.add(100_000L - 3L * i);
+			}
+			assertEquals(expected, index.pageDescending(1, Long.MIN_VALUE, Long.MAX_VALUE, offset, 5));
+		}
+		assertEquals(List.of(), index.pageDescending(1, Long.MIN_VALUE, Long.MAX_VALUE, total, 5));
+
+		// 시각 범위: id 50000..60000 (양끝 포함) 중 그룹 2
+		assertEquals(3334, index.count(2, 500_000, 600_000));
+		assertEquals(List.of(50_006L, 50_003L, 50_000L), index.pageDescending(2, 500_000, 600_000, 3331, 10));
+	}
+
+	@Test
+	void duplicateAddAndMissingRemoveAreIgnored() {
+		TimeIndex index = new TimeIndex();
+		index.add(0, 1, 1);
+		index.add(0, 1, 1);
+		index.remove(0, 2, 1);
+		index.remove(3, 1, 1);
+		assertEquals(1, index.size());
+		index.remove(0, 1, 1);
+		assertEquals(0, index.size());
+		assertEquals(List.of(), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10));
+		index.add(0, 5, 7);
+		assertEquals(List.of(7L), index.pageDescending(0, Long.MIN_VALUE, Long.MAX_VALUE, 0, 10));
+	}
+
+	@Test
+	void randomAddRemoveMatchesSortedModel() {
+		Random random = new Random(42);
+		TimeIndex index = new TimeIndex();
+		TreeSet<Entry> model = new TreeSet<>(ORDER);
+
+		for (int step = 0; step < 20_000; step++) {
+			Entry entry = new Entry(random.nextInt(5), random.nextInt(2000), random.nextInt(5000));
+			if (random.nextInt(3) == 0 && !model.isEmpty()) {
+				// 있는 항목 삭제
+				Entry existing = model.ceiling(entry);
+				if (existing == null) existing = model.first();
+				index.remove(existing.group(), existing.time(), existing.id());
+				model.remove(existing);
+			} else {
+				index.add(entry.group(), entry.time(), entry.id());
+				model.add(entry);
+			}
+
+			if (step % 500 == 0) {
+				assertMatches(index, model, random);
+			}
+		}
+		assertEquals(model.size(), index.size());
+		assertMatches(index, model, random);
+	}
+
+	@Test
+	void loadMatchesIncrementalAdds() {
+		Random random = new Random(7);
+		int n = 5000;
+		int[] groups = new int[n];
+		long[] times = new long[n];
+		long[] ids = new long[n];
+		TreeSet<Entry> model = new TreeSet<>(ORDER);
+		for (int i = 0; i < n; i++) {
+			groups[i] = random.nextInt(4);
+			times[i] = random.nextInt(1000);
+			ids[i] = i + 1;
+			model.add(new Entry(groups[i], times[i], ids[i]));
+		}
+		TimeIndex index = new TimeIndex();
+		index.load(groups, times, ids, n);
+		assertEquals(n, index.size());
+		assertMatches(index, model, random);
+
+		// 적재 후 추가/삭제도 정상
+		index.add(1, 500, 99_999);
+		model.add(new Entry(1, 500, 99_999));
+		index.remove(groups[0], times[0], ids[0]);
+		model.remove(new Entry(groups[0], times[0], ids[0]));
+		assertMatches(index, model, random);
+	}
+
+	private static void assertMatches(TimeIndex index, TreeSet<Entry> model, Random random) {
+		for (int group = 0; group < 5; group++) {
+			assertEquals(expectedCount(model, group, Long.MIN_VALUE, Long.MAX_VALUE),
+					index.count(group, Long.MIN_VALUE, Long.MAX_VALUE));
+			for (int i = 0; i < 5; i++) {
+				long from = random.nextInt(2100) - 50;
+				long to = from + random.nextInt(800);
+				int offset = random.nextInt(200);
+				int limit = 1 + random.nextInt(50);
+				assertEquals(expectedCount(model, group, from, to), index.count(group, from, to));
+				assertEquals(expectedPage(model, group, from, to, offset, limit),
+						index.pageDescending(group, from, to, offset, limit));
+			}
+		}
+	}
+}
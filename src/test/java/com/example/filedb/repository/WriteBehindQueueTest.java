@@ -0,0 +1,169 @@
+package com.example.filedb.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.exception.WriteBackpressureException;
+
+class WriteBehindQueueTest {
+
+	// 반영 내용을 기록하고, gate 가 열릴 때까지 첫 배치 반영을 붙잡아 둘 수 있는 Flusher
+	private static final class RecordingFlusher implements WriteBehindQueue.Flusher {
+		final List<List<PostDto>> batches = Collections.synchronizedList(new ArrayList<>());
+		final List<PostDto> persisted = Collections.synchronizedList(new ArrayList<>());
+		final CountDownLatch entered = new CountDownLatch(1);
+		volatile CountDownLatch gate = new CountDownLatch(0);
+
+		@Override
+		public void write(List<Long> ids, List<PostDto> states) throws Exception {
+			entered.countDown();
+			gate.await(5, TimeUnit.SECONDS);
+			batches.add(new ArrayList<>(states));
+		}
+
+		@Override
+		public void persisted(Long id, PostDto state) {
+			persisted.add(state);
+		}
+	}
+
+	private WriteBehindQueue queue;
+	private boolean started;
+
+	@AfterEach
+	void tearDown() {
+		if (started) queue.stop(5000);
+	}
+
+	private void start() {
+		queue.start();
+		started = true;
+	}
+
+	private static PostDto state(long id, String title) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setTitle(title);
+		return post;
+	}
+
+	private void put(long id, PostDto state) {
+		queue.enqueue(id, state, queue.reserve(id));
+	}
+
+	private static void awaitPending(WriteBehindQueue queue, long id) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (queue.isPending(id) && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+
+	@Test
+	void repeatedUpdatesOfSameIdTakeOneSlotAndFlushLatestState() throws Exception {
+		RecordingFlusher flusher = new RecordingFlusher();
+		queue = new WriteBehindQueue(4, 16, 50, flusher);
+		put(1, state(1, "v1"));
+		put(1, state(1, "v2"));
+		PostDto latest = state(1, "v3");
+		put(1, latest);
+		put(2, state(2, "other"));
+
+		assertSame(latest, queue.lookup(1L));
+		assertEquals(2, queue.stats().getQueueDepth());
+		assertEquals(2, queue.stats().getCoalesced());
+
+		start();
+		awaitPending(queue, 1L);
+		awaitPending(queue, 2L);
+		assertEquals(1, flusher.batches.size());
+		assertEquals(List.of("v3", "other"), flusher.batches.get(0).stream().map(PostDto::getTitle).toList());
+		assertNull(queue.lookup(1L));
+	}
+
+	@Test
+	void updateDuringFlushIsCarriedToNextBatch() throws Exception {
+		RecordingFlusher flusher = new RecordingFlusher();
+		flusher.gate = new CountDownLatch(1);
+		queue = new WriteBehindQueue(4, 16, 50, flusher);
+		start();
+
+		PostDto first = state(1, "v1");
+		put(1, first);
+		assertTrue(flusher.entered.await(5, TimeUnit.SECONDS));
+		// 반영 중에 다시 수정 -> 버퍼 자리는 쓰지 않고 pending 만 바뀜
+		PostDto second = state(1, "v2");
+		put(1, second);
+		assertEquals(0, queue.stats().getQueueDepth());
+		flusher.gate.countDown();
+
+		awaitPending(queue, 1L);
+		assertEquals(2, flusher.batches.size());
+		assertSame(first, flusher.batches.get(0).get(0));
+		assertSame(second, flusher.batches.get(1).get(0));
+		// 첫 반영은 이미 낡은 상태라 persisted 로 알리지 않음
+		assertEquals(List.of(second), flusher.persisted);
+	}
+
+	@Test
+	void tombstoneReplacesPendingSave() throws Exception {
+		RecordingFlusher flusher = new RecordingFlusher();
+		queue = new WriteBehindQueue(4, 16, 50, flusher);
+		put(1, state(1, "v1"));
+		put(1, WriteBehindQueue.TOMBSTONE);
+		assertSame(WriteBehindQueue.TOMBSTONE, queue.lookup(1L));
+
+		start();
+		awaitPending(queue, 1L);
+		assertEquals(List.of(List.of(WriteBehindQueue.TOMBSTONE)), flusher.batches);
+	}
+
+	@Test
+	void fullQueueRejectsNewIdsButStillCoalescesPendingOnes() {
+		queue = new WriteBehindQueue(2, 16, 20, new RecordingFlusher());
+		put(1, state(1, "a"));
+		put(2, state(2, "b"));
+
+		assertThrows(WriteBackpressureException.class, () -> queue.reserve(3L));
+		// 이미 대기 중인 ID 는 가득 차도 바로 합쳐짐
+		put(2, state(2, "b2"));
+		assertEquals("b2", queue.lookup(2L).getTitle());
+		assertEquals(1, queue.stats().getRejected());
+	}
+
+	@Test
+	void unusedReservationIsReleased() {
+		queue = new WriteBehindQueue(1, 16, 20, new RecordingFlusher());
+		WriteBehindQueue.Slot slot = queue.reserve(1L);
+		// 자리를 잡아 둔 동안에는 다른 ID 가 들어갈 수 없음
+		assertThrows(WriteBackpressureException.class, () -> queue.reserve(2L));
+		queue.release(slot);
+		queue.release(slot);
+		put(2, state(2, "b"));
+		assertEquals(1, queue.stats().getQueueDepth());
+	}
+
+	@Test
+	void reservedSlotIsReturnedWhenIdWasAlreadyPending() {
+		queue = new WriteBehindQueue(2, 16, 20, new RecordingFlusher());
+		WriteBehindQueue.Slot slot = queue.reserve(1L);
+		put(1, state(1, "a"));
+		// 다른 요청이 먼저 같은 ID 를 넣은 뒤 합쳐짐 -> 잡아 둔 자리는 반납
+		queue.enqueue(1L, state(1, "b"), slot);
+		put(2, state(2, "c"));
+		assertEquals(2, queue.stats().getQueueDepth());
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.filedb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.filedb.dto.ChunkedUploadStatus;
+import com.example.filedb.exception.UploadLimitExceededException;
+
+class ChunkedUploadServiceTest {
+
+	@TempDir
+	Path dir;
+
+	private ChunkedUploadService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new ChunkedUploadService(null, null);
+		ReflectionTestUtils.setField(service, "basePath", dir.toString());
+		ReflectionTestUtils.setField(service, "maxSize", 1024L * 1024);
+		ReflectionTestUtils.setField(service, "chunkSize", 1024L);
+		ReflectionTestUtils.setField(service, "staleAfterMs", 60_000L);
+		ReflectionTestUtils.setField(service, "maxConcurrent", 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.stop();
+	}
+
+	private static ChunkedUploadService.Upload upload(long size) {
+		return new ChunkedUploadService.Upload("u", "a.png", size, null, null);
+	}
+
+	private static List<List<Long>> ranges(ChunkedUploadService.Upload upload) {
+		return upload.ranges.entrySet().stream().map(e -> List.of(e.getKey(), e.getValue())).toList();
+	}
+
+
+	@Test
+	void addRangeMergesOverlappingAndAdjacentRanges() {
+		ChunkedUploadService.Upload upload = upload(100);
+		upload.addRange(10, 20);
+		upload.addRange(40, 50);
+		upload.addRange(5, 5); // 빈 구간은 무시
+		assertEquals(List.of(List.of(10L, 20L), List.of(40L, 50L)), ranges(upload));
+		assertEquals(20, upload.received);
+
+		// 앞 구간과 맞닿음
+		upload.addRange(20, 25);
+		assertEquals(List.of(List.of(10L, 25L), List.of(40L, 50L)), ranges(upload));
+
+		// 두 구간에 걸침
+		upload.addRange(22, 45);
+		assertEquals(List.of(List.of(10L, 50L)), ranges(upload));
+
+		// 이미 받은 구간 안쪽은 그대로
+		upload.addRange(15, 30);
+		assertEquals(List.of(List.of(10L, 50L)), ranges(upload));
+		assertEquals(40, upload.received);
+
+		// 여러 구간을 덮음
+		upload.addRange(60, 70);
+		upload.addRange(80, 90);
+		upload.addRange(0, 95);
+		assertEquals(List.of(List.of(0L, 95L)), ranges(upload));
+		assertEquals(95, upload.received);
+	}
+
+	@Test
+	void isCompleteOnlyWhenWholeFileReceived() {
+		ChunkedUploadService.Upload upload = upload(100);
+		assertFalse(upload.isComplete());
+		upload.addRange(50, 100);
+		assertFalse(upload.isComplete());
+		upload.addRange(0, 49);
+		assertFalse(upload.isComplete());
+		upload.addRange(49, 50);
+		assertTrue(upload.isComplete());
+	}
+
+	@Test
+	void initRejectsUploadsOverLimitUntilOneFinishes() {
+		ChunkedUploadStatus first = service.init("a.png", 100);
+		service.init("b.png", 100);
+		assertEquals(2, service.uploadCount());
+		assertThrows(UploadLimitExceededException.class, () -> service.init("c.png", 100));
+
+		service.abort(first.getUploadId());
+		assertEquals(1, service.uploadCount());
+		service.init("c.png", 100);
+		assertEquals(2, service.uploadCount());
+	}
+
+	@Test
+	void initRejectsExtensionsThatAreNotAlphanumeric() {
+		assertThrows(IllegalArgumentException.class, () -> service.init("a.png/../../x", 100));
+		assertThrows(IllegalArgumentException.class, () -> service.init("a.", 100));
+		assertThrows(IllegalArgumentException.class, () -> service.init("a.verylongextension", 100));
+		assertEquals(0, service.uploadCount());
+
+		service.init("photo.JPEG", 100);
+		service.init("no-extension", 100);
+		assertEquals(2, service.uploadCount());
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.filedb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+
+class PostChangeFeedTest {
+
+	private PostChangeFeed feed;
+
+	@BeforeEach
+	void setUp() {
+		feed = new PostChangeFeed();
+		ReflectionTestUtils.setField(feed, "historySize", 16);
+		ReflectionTestUtils.setField(feed, "senderThreads", 1);
+		ReflectionTestUtils.setField(feed, "heartbeatMs", 60_000L);
+		feed.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		feed.stop();
+	}
+
+	private void save(long id) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setTitle("title-" + id);
+		feed.onPostChanged(PostChangedEvent.saved(post));
+	}
+
+	private void delete(long id) {
+		feed.onPostChanged(PostChangedEvent.deleted(id));
+	}
+
+	private static List<Long> postIds(PostChangeFeed.Batch batch) {
+		return batch.changes().stream().map(PostChangeFeed.Change::postId).toList();
+	}
+
+	private static List<Long> seqs(PostChangeFeed.Batch batch) {
+		return batch.changes().stream().map(PostChangeFeed.Change::seq).toList();
+	}
+
+
+	@Test
+	void keepsOnlyLastChangePerPostInSeqOrder() {
+		save(1);   // seq 1
+		save(2);   // seq 2
+		save(1);   // seq 3
+		save(3);   // seq 4
+		delete(2); // seq 5
+
+		PostChangeFeed.Batch batch = feed.changesAfter(0);
+		assertEquals(5, batch.upTo());
+		assertEquals(List.of(1L, 3L, 2L), postIds(batch));
+		assertEquals(List.of(3L, 4L, 5L), seqs(batch));
+		assertTrue(batch.changes().get(2).json().contains("DELETED"));
+
+		// 중간부터 이어 받으면 그 이후 변경만
+		PostChangeFeed.Batch resumed = feed.changesAfter(3);
+		assertEquals(List.of(3L, 2L), postIds(resumed));
+
+		PostChangeFeed.Batch empty = feed.changesAfter(5);
+		assertEquals(5, empty.upTo());
+		assertEquals(List.of(), empty.changes());
+	}
+
+	@Test
+	void cursorOlderThanHistoryGetsReset() {
+		for (long id = 1; id <= 20; id++) {
+			save(id);
+		}
+		// 길이 16 -> seq 5..20 만 남음
+		PostChangeFeed.Batch overflowed = feed.changesAfter(3);
+		assertNull(overflowed.changes());
+		assertEquals(20, overflowed.upTo());
+
+		PostChangeFeed.Batch oldest = feed.changesAfter(4);
+		assertNotNull(oldest.changes());
+		assertEquals(16, oldest.changes().size());
+		assertEquals(5L, oldest.changes().get(0).postId());
+	}
+
+	@Test
+	void bulkImportResetsEarlierCursors() {
+		save(1);                                                   // seq 1
+		feed.onPostsImported(new PostsImportedEvent(List.of()));   // seq 2
+		save(2);                                                   // seq 3
+
+		assertNull(feed.changesAfter(0).changes());
+		assertNull(feed.changesAfter(1).changes());
+		PostChangeFeed.Batch after = feed.changesAfter(2);
+		assertEquals(3, after.upTo());
+		assertEquals(List.of(2L), postIds(after));
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.filedb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.event.PostChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PostSearchIndexTest {
+
+	private PostSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PostSearchIndex(new ObjectMapper());
+		ReflectionTestUtils.setField(index, "titleBoost", 2.0);
+		ReflectionTestUtils.setField(index, "maxPrefixExpansion", 64);
+	}
+
+	private void save(long id, String title, String content) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setTitle(title);
+		post.setContent(content);
+		index.apply(PostChangedEvent.saved(post));
+	}
+
+	private List<Long> search(String query) {
+		return index.search(query, 0, 10).ids();
+	}
+
+
+	@Test
+	void tokenizeLowercasesAndSplitsOnNonLetters() {
+		assertEquals(List.of("hello", "world", "게시판", "2024"),
+				PostSearchIndex.tokenize("Hello, WORLD! 게시판-2024"));
+		assertEquals(List.of(), PostSearchIndex.tokenize(null));
+		assertEquals(List.of(), PostSearchIndex.tokenize(" .,!? "));
+	}
+
+	@Test
+	void tokenizeSkipsOverlongRuns() {
+		String longRun = "a".repeat(65);
+		List<String> tokens = PostSearchIndex.tokenize("before " + longRun + " after");
+		assertTrue(tokens.contains("before"));
+		assertTrue(tokens.contains("after"));
+		assertTrue(!tokens.contains(longRun));
+		assertEquals(List.of("a".repeat(64)), PostSearchIndex.tokenize("a".repeat(64)));
+		// 색인용은 긴 구간 자리를 null 로 남겨 위치를 유지
+		assertEquals(Arrays.asList("before", null, "after"),
+				PostSearchIndex.tokenize("before " + longRun + " after", true));
+	}
+
+	@Test
+	void phraseDoesNotMatchAcrossDroppedToken() {
+		save(1, "t", "quick " + "x".repeat(100) + " brown");
+		save(2, "t", "quick brown");
+		assertEquals(List.of(2L), search("\"quick brown\""));
+		// 질의에 같은 긴 구간이 있으면 그 자리는 아무 용어나 한 칸으로 봄
+		assertEquals(List.of(1L), search("\"quick " + "y".repeat(100) + " brown\""));
+	}
+
+	@Test
+	void titleMatchOutranksContentMatch() {
+		save(1, "other", "filedb notes");
+		save(2, "filedb notes", "other");
+		assertEquals(List.of(2L, 1L), search("filedb"));
+	}
+
+	@Test
+	void higherTermFrequencyRanksFirst() {
+		save(1, "a", "cache once and then nothing else here");
+		save(2, "b", "cache cache cache and then nothing else");
+		save(3, "c", "unrelated text only");
+		assertEquals(List.of(2L, 1L), search("cache"));
+	}
+
+	@Test
+	void shorterDocumentRanksFirstForSameFrequency() {
+		save(1, "x", "index one two three four five six seven eight nine ten");
+		save(2, "y", "index one");
+		assertEquals(List.of(2L, 1L), search("index"));
+	}
+
+	@Test
+	void rareTermContributesMoreThanCommonTerm() {
+		save(1, "t", "common rare");
+		save(2, "t", "common common");
+		save(3, "t", "common filler");
+		// common 은 모든 문서에 있어서 idf 가 낮고, rare 를 가진 1 번이 가장 앞
+		assertEquals(1L, search("common rare").get(0));
+	}
+
+	@Test
+	void phraseRequiresAdjacentTermsInOrder() {
+		save(1, "t", "quick brown fox");
+		save(2, "t", "brown quick fox");
+		save(3, "t", "quick red brown");
+		assertEquals(List.of(1L), search("\"quick brown\""));
+		// 따옴표 없이는 세 문서 모두 매칭
+		assertEquals(3, index.search("quick brown", 0, 10).total());
+	}
+
+	@Test
+	void singleWordPhraseAndUnclosedQuoteAreParsed() {
+		save(1, "t", "quick brown fox");
+		save(2, "t", "slow fox");
+		assertEquals(List.of(1L), search("\"quick\""));
+		assertEquals(List.of(1L), search("\"quick brown"));
+	}
+
+	@Test
+	void prefixQueryExpandsToMatchingTerms() {
+		save(1, "t", "quick");
+		save(2, "t", "quiet");
+		save(3, "t", "quote");
+		assertEquals(2, index.search("qui*", 0, 10).total());
+		assertEquals(0, index.search("qui", 0, 10).total());
+	}
+
+	@Test
+	void prefixAppliesOnlyToLastTokenOfWord() {
+		save(1, "t", "foo bar");
+		save(2, "t", "foo barn");
+		save(3, "t", "food");
+		// "foo-bar*" -> foo(정확히) + bar*(접두어)
+		assertEquals(2, index.search("foo-bar*", 0, 10).total());
+	}
+
+	@Test
+	void deleteRemovesDocument() {
+		save(1, "t", "alpha");
+		save(2, "t", "alpha");
+		index.apply(PostChangedEvent.deleted(1L));
+		assertEquals(List.of(2L), search("alpha"));
+	}
+
+	@Test
+	void updateReplacesPreviousContent() {
+		save(1, "t", "alpha");
+		save(1, "t", "beta");
+		assertEquals(List.of(), search("alpha"));
+		assertEquals(List.of(1L), search("beta"));
+	}
+
+	@Test
+	void pagingReturnsRequestedSlice() {
+		for (long id = 1; id <= 25; id++) {
+			save(id, "t", "same");
+		}
+		// 동점이면 최신 글(ID 큰 것) 먼저
+		PostSearchIndex.Result first = index.search("same", 0, 10);
+		assertEquals(25, first.total());
+		assertEquals(25L, first.ids().get(0));
+		PostSearchIndex.Result last = index.search("same", 20, 10);
+		assertEquals(List.of(5L, 4L, 3L, 2L, 1L), last.ids());
+	}
+
+	@Test
+	void hugeOffsetReturnsEmptyPage() {
+		save(1, "t", "same");
+		assertEquals(List.of(), index.search("same", Integer.MAX_VALUE - 10, 10).ids());
+		assertEquals(List.of(), index.search("same", Integer.MAX_VALUE, 10).ids());
+		assertEquals(List.of(), index.search("same", -5, 10).ids());
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.filedb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.filedb.dto.PostDto;
+import com.example.filedb.dto.PostSuggestResponse;
+import com.example.filedb.event.PostChangedEvent;
+import com.example.filedb.event.PostsImportedEvent;
+
+class PostSuggestIndexTest {
+
+	private PostSuggestIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new PostSuggestIndex(null);
+	}
+
+	private static PostDto post(long id, String title) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setTitle(title);
+		return post;
+	}
+
+	private void save(long id, String title) {
+		index.onPostChanged(PostChangedEvent.saved(post(id, title)));
+	}
+
+	private void delete(long id) {
+		index.onPostChanged(PostChangedEvent.deleted(id));
+	}
+
+	private List<Long> titleIds(String q, int limit) {
+		return index.suggest(q, limit).getTitles().stream().map(PostSuggestResponse.Title::getPostId).toList();
+	}
+
+	private List<Long> titleIds(String q) {
+		return titleIds(q, 10);
+	}
+
+	private List<String> terms(String q) {
+		return index.suggest(q, 10).getTerms().stream().map(t -> t.getTerm() + ":" + t.getCount()).toList();
+	}
+
+
+	@Test
+	void keysDecomposeHangulIntoJamo() {
+		assertEquals("ㅎㅏㄴ", PostSuggestIndex.toKey("한"));
+		assertEquals("ㄱㅗㅏ", PostSuggestIndex.toKey("과"));
+		assertEquals("ㄷㅏㄹㄱ", PostSuggestIndex.toKey("닭"));
+		assertEquals("ㄱㅗㅏ", PostSuggestIndex.toKey("ㄱㅘ"));
+		assertEquals("spring ㅂㅗㅁ", PostSuggestIndex.toKey("spring 봄"));
+		assertEquals("ㅅㅍㄹ ㄱㅅㅍ", PostSuggestIndex.toChoseongKey("스프링 게시판"));
+		assertEquals("hello world", PostSuggestIndex.normalize("  Hello,   WORLD! "));
+	}
+
+	@Test
+	void partialSyllableMatchesTitlesBeingTyped() {
+		save(1, "한글 게시판");
+		save(2, "하나 둘");
+		save(3, "스프링 게시판 만들기");
+		save(4, "과일 가게");
+
+		// 최신 글(ID 큰 순) 우선
+		assertEquals(List.of(2L, 1L), titleIds("하"));
+		assertEquals(List.of(2L, 1L), titleIds("한"));   // "하나" 의 ㅎㅏㄴ 까지 입력한 것과 같음
+		assertEquals(List.of(1L), titleIds("한ㄱ"));
+		assertEquals(List.of(3L, 1L), titleIds("게ㅅ"));
+		assertEquals(List.of(4L), titleIds("고"));       // 과 = ㄱ ㅗ ㅏ
+		assertEquals(List.of(), titleIds("핞"));         // ㅎㅏㄴㅎ 는 "한글"(ㅎㅏㄴㄱ..) 의 접두어가 아님
+		assertEquals(List.of(3L), titleIds("만들"));      // 중간 단어부터
+		assertEquals(List.of(3L), titleIds("게시판 만"));
+		assertEquals(List.of(), titleIds("게시판 둘"));
+		assertEquals(List.of(), titleIds("  "));
+	}
+
+	@Test
+	void choseongPrefixMatchesTitlesAndTerms() {
+		save(1, "한글 게시판");
+		save(2, "스프링 게시판 만들기");
+		save(3, "가상 세계");
+
+		assertEquals(List.of(2L, 1L), titleIds("ㄱㅅㅍ"));
+		assertEquals(List.of(2L), titleIds("ㅅㅍㄹ ㄱ"));
+		assertEquals(List.of(3L, 2L, 1L), titleIds("ㄱ"));
+		assertEquals(List.of("게시판:2"), terms("ㄱㅅㅍ"));
+		assertEquals(List.of("게시판:2", "가상:1"), terms("ㄱ"));
+	}
+
+	@Test
+	void topTitlesRefillAfterDeletesAndUpdates() {
+		for (long id = 1; id <= 15; id++) {
+			save(id, "공지 " + id);
+		}
+		assertEquals(List.of(15L, 14L, 13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L), titleIds("공지"));
+		assertEquals(List.of(15L, 14L, 13L), titleIds("공지", 3));
+		assertEquals(10, titleIds("공지", 100).size());
+		assertEquals(List.of("공지:15"), terms("공지"));
+
+		delete(15);
+		delete(14);
+		assertEquals(List.of(13L, 12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L), titleIds("공지"));
+
+		// 제목이 바뀌면 예전 키로는 더 이상 나오지 않음
+		save(13, "다른 글");
+		assertEquals(List.of(12L, 11L, 10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L), titleIds("공지"));
+		assertEquals(List.of(13L), titleIds("다른"));
+		assertEquals(List.of("공지:12"), terms("공지"));
+
+		for (long id = 1; id <= 12; id++) {
+			delete(id);
+		}
+		assertEquals(List.of(), titleIds("공지"));
+		assertEquals(List.of(), terms("공지"));
+		assertEquals(List.of(13L), titleIds("ㄷ"));
+	}
+
+	@Test
+	void termsAreOrderedByTitleCount() {
+		List<PostDto> posts = new ArrayList<>();
+		posts.add(post(1, "spring boot"));
+		posts.add(post(2, "spring security"));
+		posts.add(post(3, "spring boot 2024"));
+		posts.add(post(4, "spa x"));
+		index.onPostsImported(new PostsImportedEvent(posts));
+
+		// 숫자만 / 한 글자 영문은 용어에서 제외
+		assertEquals(List.of("spring:3", "spa:1"), terms("sp"));
+		assertEquals(List.of("boot:2"), terms("b"));
+		assertEquals(List.of(), terms("x"));
+		assertEquals(List.of(), terms("20"));
+
+		delete(1);
+		delete(3);
+		// 같은 수면 먼저 올라간 용어부터
+		assertEquals(List.of("spring:1", "spa:1"), terms("sp"));
+		assertEquals(List.of(), terms("b"));
+	}
+}